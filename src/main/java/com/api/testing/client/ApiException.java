@@ -0,0 +1,27 @@
+package com.api.testing.client;
+
+/**
+ * Exception raised when the Posts API answers with an unexpected HTTP status
+ * or a body that cannot be decoded into a Post
+ */
+public class ApiException extends RuntimeException {
+
+    private final int statusCode;
+
+    public ApiException(int statusCode, String message) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public ApiException(String message, Throwable cause) {
+        super(message, cause);
+        this.statusCode = -1;
+    }
+
+    /**
+     * HTTP status code of the failed response, or -1 when no response was decoded
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+}
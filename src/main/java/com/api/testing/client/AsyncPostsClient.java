@@ -0,0 +1,366 @@
+package com.api.testing.client;
+
+import com.api.testing.codec.LazyPost;
+import com.api.testing.codec.LazyPostDecoder;
+import com.api.testing.config.ApiConfig;
+import com.api.testing.metrics.ClientMetrics;
+import com.api.testing.metrics.Phase;
+import com.api.testing.models.Post;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Non-blocking client for the JSONPlaceholder Posts API
+ * Built on java.net.http.HttpClient#sendAsync; every call returns a CompletableFuture
+ * and response bodies are decoded into Post objects on the decode executor,
+ * never on the HttpClient's I/O threads. The body streams into the parser as it arrives,
+ * so the decode thread blocks on the socket until the last byte; the default decode
+ * executor is a dedicated daemon pool for that reason, never the common pool. gzip and
+ * deflate responses are negotiated by default and inflated while streaming into the parser.
+ */
+public class AsyncPostsClient {
+
+    private static final JavaType POST = TypeFactory.defaultInstance().constructType(Post.class);
+    private static final JavaType POST_LIST = TypeFactory.defaultInstance().constructCollectionType(List.class, Post.class);
+    private static final BodyReader<Post> POST_READER = (format, body) -> format.mapper().readValue(body, POST);
+
+    // Allocation of a request the metrics registry did not sample
+    private static final long NOT_SAMPLED = -1;
+
+    // One thread per response being read; threads idle out after a minute
+    private static final Executor DECODE_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable task) {
+            Thread thread = new Thread(task, "posts-decode-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final Executor decodeExecutor;
+    private final boolean compression;
+    private final WireFormat wireFormat;
+    private final ClientMetrics metrics;
+
+    public AsyncPostsClient(String baseUrl) {
+        this(baseUrl, defaultHttpClient(), DECODE_EXECUTOR);
+    }
+
+    /**
+     * @param decodeExecutor runs inflating and parsing, blocking while the body streams in;
+     *                       size it for the calls in flight and keep it off the common pool
+     */
+    public AsyncPostsClient(String baseUrl, HttpClient httpClient, Executor decodeExecutor) {
+        this(baseUrl, httpClient, decodeExecutor, true, WireFormat.JSON, null);
+    }
+
+    private AsyncPostsClient(String baseUrl, HttpClient httpClient, Executor decodeExecutor,
+                             boolean compression, WireFormat wireFormat, ClientMetrics metrics) {
+        this.baseUrl = baseUrl;
+        this.httpClient = httpClient;
+        this.decodeExecutor = decodeExecutor;
+        this.compression = compression;
+        this.wireFormat = wireFormat;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns a client sharing this one's HttpClient and executor that does (or does not)
+     * advertise Accept-Encoding: gzip, deflate. Compression is on by default.
+     */
+    public AsyncPostsClient withCompression(boolean enabled) {
+        return new AsyncPostsClient(baseUrl, httpClient, decodeExecutor, enabled, wireFormat, metrics);
+    }
+
+    /**
+     * Returns a client that encodes request bodies in the given format and asks for it
+     * in Accept, with JSON as fallback. Responses are decoded by their Content-Type,
+     * so a provider that only speaks JSON keeps working.
+     */
+    public AsyncPostsClient withWireFormat(WireFormat format) {
+        return new AsyncPostsClient(baseUrl, httpClient, decodeExecutor, compression, format, metrics);
+    }
+
+    /**
+     * Returns a client recording per-phase timings, and the allocation of the requests the
+     * registry samples, into the given registry
+     * Several clients may share one registry; pass null to switch instrumentation off
+     */
+    public AsyncPostsClient withMetrics(ClientMetrics registry) {
+        return new AsyncPostsClient(baseUrl, httpClient, decodeExecutor, compression, wireFormat, registry);
+    }
+
+    /**
+     * GET /posts
+     */
+    public CompletableFuture<List<Post>> getAllPosts() {
+        HttpRequest request = newRequest(ApiConfig.POSTS_ENDPOINT).GET().build();
+        return send(request, ApiConfig.HTTP_OK, POST_LIST);
+    }
+
+    /**
+     * GET /posts decoded with the given lazy or projecting decoder
+     * Always negotiates JSON, whatever wire format this client is configured with
+     */
+    public CompletableFuture<List<LazyPost>> getAllPosts(LazyPostDecoder decoder) {
+        HttpRequest request = newRequest(ApiConfig.POSTS_ENDPOINT)
+                .setHeader("Accept", WireFormat.JSON.mediaType())
+                .GET()
+                .build();
+        return send(request, ApiConfig.HTTP_OK, (format, body) -> {
+            if (format != WireFormat.JSON) {
+                throw new IOException("Lazy decoding needs JSON, got " + format);
+            }
+            return decoder.decodePosts(body.readAllBytes());
+        });
+    }
+
+    /**
+     * GET /posts?_page={page}&_limit={limit}
+     * Pages are 1-based; a page shorter than the limit is the last one
+     */
+    public CompletableFuture<List<Post>> getPostsPage(int page, int limit) {
+        HttpRequest request = newRequest(ApiConfig.POSTS_ENDPOINT
+                + "?" + ApiConfig.PAGE_PARAM + "=" + page
+                + "&" + ApiConfig.LIMIT_PARAM + "=" + limit).GET().build();
+        return send(request, ApiConfig.HTTP_OK, POST_LIST);
+    }
+
+    /**
+     * Streams every post page by page with ApiConfig.DEFAULT_PAGE_SIZE posts per page
+     */
+    public Flow.Publisher<Post> streamPosts() {
+        return streamPosts(ApiConfig.DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Streams every post page by page
+     * Nothing is fetched until the subscriber requests; the next page is prefetched
+     * while the current one is emitted and demand is honoured per post
+     */
+    public Flow.Publisher<Post> streamPosts(int pageSize) {
+        return new PagedPostsPublisher(pageSize, page -> getPostsPage(page, pageSize));
+    }
+
+    /**
+     * GET /posts/{id}
+     */
+    public CompletableFuture<Post> getPostById(int id) {
+        HttpRequest request = newRequest(ApiConfig.POSTS_ENDPOINT + "/" + id).GET().build();
+        return send(request, ApiConfig.HTTP_OK, POST);
+    }
+
+    /**
+     * POST /posts
+     */
+    public CompletableFuture<Post> createPost(Post post) {
+        return sendPost("POST", ApiConfig.POSTS_ENDPOINT, post, ApiConfig.HTTP_CREATED);
+    }
+
+    /**
+     * PUT /posts/{id}
+     */
+    public CompletableFuture<Post> updatePost(int id, Post post) {
+        return sendPost("PUT", ApiConfig.POSTS_ENDPOINT + "/" + id, post, ApiConfig.HTTP_OK);
+    }
+
+    /**
+     * DELETE /posts/{id}
+     */
+    public CompletableFuture<Void> deletePost(int id) {
+        HttpRequest request = newRequest(ApiConfig.POSTS_ENDPOINT + "/" + id).DELETE().build();
+        return exchange(request, HttpResponse.BodyHandlers.discarding())
+                .thenApply(response -> {
+                    checkStatus(response, ApiConfig.HTTP_OK);
+                    return null;
+                });
+    }
+
+    private HttpRequest.Builder newRequest(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Accept", acceptHeader());
+        if (compression) {
+            builder.header("Accept-Encoding", ContentEncodings.ACCEPT_ENCODING);
+        }
+        return builder;
+    }
+
+    /**
+     * Sends post as the request body; an encoding failure fails the returned future
+     * like any other error instead of being thrown at the caller
+     */
+    private CompletableFuture<Post> sendPost(String method, String path, Post post, int expectedStatus) {
+        ClientMetrics registry = metrics;
+        boolean sampled = sampleAllocation();
+        long allocatedBefore = sampled ? ClientMetrics.currentThreadAllocatedBytes() : 0;
+        long start = System.nanoTime();
+        byte[] body;
+        try {
+            body = wireFormat.mapper().writeValueAsBytes(post);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(new ApiException("Failed to encode the body of " + method + " " + path, e));
+        }
+        long allocated = NOT_SAMPLED;
+        if (registry != null) {
+            long elapsed = System.nanoTime() - start;
+            allocated = sampled ? ClientMetrics.currentThreadAllocatedBytes() - allocatedBefore : NOT_SAMPLED;
+            registry.timer(Phase.SERIALIZE).record(elapsed, allocated);
+        }
+        HttpRequest request = newRequest(path)
+                .header("Content-Type", wireFormat.mediaType())
+                .method(method, HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        return send(request, expectedStatus, POST_READER, allocated);
+    }
+
+    private <T> CompletableFuture<T> send(HttpRequest request, int expectedStatus, JavaType type) {
+        return send(request, expectedStatus, (format, body) -> format.mapper().readValue(body, type));
+    }
+
+    private <T> CompletableFuture<T> send(HttpRequest request, int expectedStatus, BodyReader<T> reader) {
+        return send(request, expectedStatus, reader, sampleAllocation() ? 0 : NOT_SAMPLED);
+    }
+
+    /**
+     * @param allocated bytes this request allocated before it was sent, or NOT_SAMPLED
+     */
+    private <T> CompletableFuture<T> send(HttpRequest request, int expectedStatus, BodyReader<T> reader, long allocated) {
+        // The body stream completes with the headers; inflating and parsing pull bytes
+        // as they arrive, on the decode executor
+        return exchange(request, HttpResponse.BodyHandlers.ofInputStream())
+                .thenApplyAsync(response -> decode(request, response, expectedStatus, reader, allocated), decodeExecutor);
+    }
+
+    private <T> CompletableFuture<HttpResponse<T>> exchange(HttpRequest request, HttpResponse.BodyHandler<T> handler) {
+        ClientMetrics registry = metrics;
+        if (registry == null) {
+            return httpClient.sendAsync(request, handler);
+        }
+        registry.recordRequest();
+        long sentAt = System.nanoTime();
+        // The HttpClient picks the body handler as soon as the headers arrive
+        HttpResponse.BodyHandler<T> timed = responseInfo -> {
+            registry.timer(Phase.TIME_TO_HEADERS).record(System.nanoTime() - sentAt, -1);
+            return handler.apply(responseInfo);
+        };
+        return httpClient.sendAsync(request, timed)
+                .whenComplete((response, error) -> {
+                    if (error != null) {
+                        registry.recordError();
+                    }
+                });
+    }
+
+    private <T> T decode(HttpRequest request, HttpResponse<InputStream> response, int expectedStatus,
+                         BodyReader<T> reader, long allocatedBeforeSend) {
+        InputStream body = response.body();
+        try {
+            checkStatus(response, expectedStatus);
+            String contentEncoding = response.headers().firstValue("Content-Encoding").orElse(null);
+            WireFormat format = WireFormat.forContentType(response.headers().firstValue("Content-Type").orElse(null));
+            ClientMetrics registry = metrics;
+            if (registry == null) {
+                return reader.read(format, ContentEncodings.decode(body, contentEncoding));
+            }
+
+            boolean sampled = allocatedBeforeSend != NOT_SAMPLED;
+            long allocatedBefore = sampled ? ClientMetrics.currentThreadAllocatedBytes() : 0;
+            long start = System.nanoTime();
+            TimedInputStream timed = new TimedInputStream(body);
+            T value = reader.read(format, ContentEncodings.decode(timed, contentEncoding));
+            long elapsed = System.nanoTime() - start;
+            long allocated = sampled ? ClientMetrics.currentThreadAllocatedBytes() - allocatedBefore : NOT_SAMPLED;
+
+            registry.timer(Phase.BODY_READ).record(timed.getReadNanos(), NOT_SAMPLED);
+            registry.timer(Phase.DESERIALIZE).record(elapsed - timed.getReadNanos(), allocated);
+            if (sampled) {
+                registry.recordRequestAllocation(allocatedBeforeSend + allocated);
+            }
+            return value;
+        } catch (IOException | IllegalArgumentException e) {
+            recordError();
+            throw new ApiException("Failed to decode " + request.uri(), e);
+        } finally {
+            release(body);
+        }
+    }
+
+    /**
+     * Reads what the parser left of the body (trailing whitespace, the last chunk, or all of
+     * an error body) before closing it: closing a body that isn't finished cancels the
+     * exchange, so the connection is dropped instead of going back to the pool
+     */
+    private static void release(InputStream body) {
+        try (body) {
+            body.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            // The value is decoded, or already failed; only the connection is lost
+        }
+    }
+
+    private void recordError() {
+        if (metrics != null) {
+            metrics.recordError();
+        }
+    }
+
+    private void checkStatus(HttpResponse<?> response, int expectedStatus) {
+        if (response.statusCode() != expectedStatus) {
+            recordError();
+            throw new ApiException(response.statusCode(),
+                    response.request().method() + " " + response.uri()
+                            + " returned " + response.statusCode() + ", expected " + expectedStatus);
+        }
+    }
+
+    private String acceptHeader() {
+        if (wireFormat == WireFormat.JSON) {
+            return WireFormat.JSON.mediaType();
+        }
+        return wireFormat.mediaType() + ", " + WireFormat.JSON.mediaType() + ";q=0.5";
+    }
+
+    /**
+     * Whether the request about to be sent has its allocation probed; only the registry's
+     * samples pay for the ThreadMXBean calls
+     */
+    private boolean sampleAllocation() {
+        ClientMetrics registry = metrics;
+        return registry != null && registry.sampleAllocation();
+    }
+
+    /**
+     * Turns a decompressed response body in the negotiated format into a value
+     */
+    @FunctionalInterface
+    private interface BodyReader<T> {
+        T read(WireFormat format, InputStream body) throws IOException;
+    }
+
+    private static HttpClient defaultHttpClient() {
+        // HTTP/1.1 avoids the h2c upgrade round trip against plain-http mocks
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+}
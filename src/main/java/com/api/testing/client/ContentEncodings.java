@@ -0,0 +1,85 @@
+package com.api.testing.client;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Streaming decoders for the HTTP Content-Encoding values the Posts client negotiates
+ * Bodies are inflated as they are read, so the parser never waits for the whole payload
+ */
+final class ContentEncodings {
+
+    // Advertised on every request when compression is enabled
+    static final String ACCEPT_ENCODING = "gzip, deflate";
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private ContentEncodings() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Wraps the raw response stream with the decoder matching its Content-Encoding header
+     */
+    static InputStream decode(InputStream raw, String contentEncoding) throws IOException {
+        if (contentEncoding == null) {
+            return raw;
+        }
+        switch (contentEncoding.trim().toLowerCase(Locale.ROOT)) {
+            case "":
+            case "identity":
+                return raw;
+            case "gzip":
+            case "x-gzip":
+                return new GZIPInputStream(raw, BUFFER_SIZE);
+            case "deflate":
+                return inflate(raw);
+            default:
+                raw.close();
+                throw new IOException("Unsupported Content-Encoding: " + contentEncoding);
+        }
+    }
+
+    /**
+     * HTTP "deflate" is zlib-wrapped per RFC 9110, but some servers send a raw deflate
+     * stream instead. The RFC 1950 header tells them apart: compression method 8 with a
+     * window of at most 32K in the first byte, and both bytes together a multiple of 31.
+     * A raw stream can start with a method-8 byte, but rarely passes the check as well.
+     */
+    private static InputStream inflate(InputStream raw) throws IOException {
+        PushbackInputStream in = new PushbackInputStream(raw, 2);
+        int first = in.read();
+        if (first == -1) {
+            return in;
+        }
+        int second = in.read();
+        if (second != -1) {
+            in.unread(second);
+        }
+        in.unread(first);
+        boolean zlibWrapped = second != -1 && isZlibHeader(first, second);
+        Inflater inflater = new Inflater(!zlibWrapped);
+        return new InflaterInputStream(in, inflater, BUFFER_SIZE) {
+            @Override
+            public void close() throws IOException {
+                // A caller-supplied Inflater is not released by InflaterInputStream itself
+                try {
+                    super.close();
+                } finally {
+                    inflater.end();
+                }
+            }
+        };
+    }
+
+    private static boolean isZlibHeader(int first, int second) {
+        int method = first & 0x0F;
+        int windowBits = first >> 4;
+        return method == 8 && windowBits <= 7 && ((first << 8) | second) % 31 == 0;
+    }
+}
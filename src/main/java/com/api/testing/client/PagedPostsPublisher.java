@@ -0,0 +1,167 @@
+package com.api.testing.client;
+
+import com.api.testing.models.Post;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+
+/**
+ * Cold Flow.Publisher walking /posts one page at a time
+ * Pages are fetched only when the subscriber has outstanding demand; while a page is
+ * being emitted the next one is already in flight, so at most two pages are buffered.
+ * The walk ends on the first page shorter than the page size.
+ * Every signal, onError included, is sent from the drain loop, so signals never overlap
+ * (Reactive Streams §1.3) and nothing follows a terminal one.
+ */
+class PagedPostsPublisher implements Flow.Publisher<Post> {
+
+    private final int pageSize;
+    private final IntFunction<CompletableFuture<List<Post>>> pageFetcher;
+
+    PagedPostsPublisher(int pageSize, IntFunction<CompletableFuture<List<Post>>> pageFetcher) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive: " + pageSize);
+        }
+        this.pageSize = pageSize;
+        this.pageFetcher = pageFetcher;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Post> subscriber) {
+        PageSubscription subscription = new PageSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private final class PageSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super Post> subscriber;
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean cancelled;
+        // Set before cancelled when the stream fails; signalled by drain()
+        private volatile Throwable error;
+
+        // Only touched inside drain(), which is serialized by wip
+        private Iterator<Post> current = Collections.emptyIterator();
+        private volatile CompletableFuture<List<Post>> pending;
+        private int nextPage = 1;
+        private boolean lastPageFetched;
+
+        PageSubscription(Flow.Subscriber<? super Post> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (cancelled) {
+                return;
+            }
+            if (n <= 0) {
+                // §3.9, but from drain(): an onNext may be in progress on another thread
+                error = new IllegalArgumentException("Non-positive request: " + n);
+                cancel();
+                drain();
+                return;
+            }
+            requested.getAndUpdate(r -> r + n < 0 ? Long.MAX_VALUE : r + n);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            CompletableFuture<List<Post>> inFlight = pending;
+            if (inFlight != null) {
+                inFlight.cancel(false);
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                long demand = requested.get();
+                long emitted = 0;
+                while (true) {
+                    if (cancelled) {
+                        Throwable failure = error;
+                        if (failure != null) {
+                            // Terminal: wip stays raised, so no later drain() signals again
+                            subscriber.onError(failure);
+                            return;
+                        }
+                        break;
+                    }
+                    if (current.hasNext()) {
+                        if (emitted == demand) {
+                            break;
+                        }
+                        subscriber.onNext(current.next());
+                        emitted++;
+                        continue;
+                    }
+                    if (pending == null) {
+                        if (lastPageFetched) {
+                            cancelled = true;
+                            subscriber.onComplete();
+                            return;
+                        }
+                        if (emitted == demand) {
+                            // Nothing requested yet, don't start the walk
+                            break;
+                        }
+                        pending = fetch();
+                    }
+                    if (!pending.isDone()) {
+                        break;
+                    }
+                    List<Post> page;
+                    try {
+                        page = pending.join();
+                    } catch (CancellationException e) {
+                        // Normally cancel() racing this prefetch, which must stay silent
+                        fail(e);
+                        continue;
+                    } catch (CompletionException e) {
+                        fail(e.getCause() != null ? e.getCause() : e);
+                        continue;
+                    }
+                    current = page.iterator();
+                    lastPageFetched = page.size() < pageSize;
+                    // Prefetch the next page while this one is consumed
+                    pending = lastPageFetched ? null : fetch();
+                }
+                if (emitted > 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * Records failure unless the subscriber has already cancelled; drain() signals it
+         */
+        private void fail(Throwable failure) {
+            if (!cancelled) {
+                error = failure;
+                cancelled = true;
+            }
+        }
+
+        private CompletableFuture<List<Post>> fetch() {
+            CompletableFuture<List<Post>> page = pageFetcher.apply(nextPage++);
+            page.whenComplete((posts, error) -> drain());
+            return page;
+        }
+    }
+}
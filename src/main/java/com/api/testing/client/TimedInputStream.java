@@ -0,0 +1,42 @@
+package com.api.testing.client;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Accumulates the time spent inside read calls on the wrapped stream
+ * Only ever read by one thread, so a plain field is enough
+ */
+final class TimedInputStream extends FilterInputStream {
+
+    private long readNanos;
+
+    TimedInputStream(InputStream in) {
+        super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+        long start = System.nanoTime();
+        try {
+            return super.read();
+        } finally {
+            readNanos += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        long start = System.nanoTime();
+        try {
+            return super.read(b, off, len);
+        } finally {
+            readNanos += System.nanoTime() - start;
+        }
+    }
+
+    long getReadNanos() {
+        return readNanos;
+    }
+}
@@ -0,0 +1,61 @@
+package com.api.testing.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+import java.util.Locale;
+
+/**
+ * Encodings a Post or Post[] can travel in
+ * JSON is the API's native format; Smile and CBOR are binary Jackson dataformats
+ * used for fixture replay and mock serving, where text parsing dominates
+ */
+public enum WireFormat {
+
+    JSON("application/json", new ObjectMapper()),
+    SMILE("application/x-jackson-smile", new ObjectMapper(new SmileFactory())),
+    CBOR("application/cbor", new ObjectMapper(new CBORFactory()));
+
+    private final String mediaType;
+    private final ObjectMapper mapper;
+
+    WireFormat(String mediaType, ObjectMapper mapper) {
+        this.mediaType = mediaType;
+        this.mapper = mapper;
+    }
+
+    /**
+     * Media type used in Accept and Content-Type headers
+     */
+    public String mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Shared, thread-safe ObjectMapper reading and writing this format
+     */
+    public ObjectMapper mapper() {
+        return mapper;
+    }
+
+    /**
+     * Resolves a Content-Type header value, ignoring parameters such as charset
+     * A missing header is treated as JSON, the API's default
+     */
+    public static WireFormat forContentType(String contentType) {
+        if (contentType == null || contentType.isEmpty()) {
+            return JSON;
+        }
+        String type = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+        for (WireFormat format : values()) {
+            if (format.mediaType.equals(type)) {
+                return format;
+            }
+        }
+        if (type.endsWith("+json")) {
+            return JSON;
+        }
+        throw new IllegalArgumentException("Unsupported Content-Type: " + contentType);
+    }
+}
@@ -0,0 +1,89 @@
+package com.api.testing.codec;
+
+import com.api.testing.models.Post;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+/**
+ * Post whose title and body stay as byte offsets into the source JSON buffer
+ * until their getter is first called. id and userId are always decoded eagerly.
+ * A LazyPost decoded with title or body projected keeps its source buffer reachable for
+ * as long as it lives; one projecting neither has no source.
+ */
+public class LazyPost extends Post {
+
+    private static final int MATERIALIZED = -1;
+
+    private final byte[] source;
+
+    // Volatile so a reader that sees MATERIALIZED also sees the String stored before it
+    private volatile int titleOffset = MATERIALIZED;
+    private volatile int bodyOffset = MATERIALIZED;
+
+    LazyPost(byte[] source) {
+        this.source = source;
+    }
+
+    void deferTitle(int offset) {
+        titleOffset = offset;
+    }
+
+    void deferBody(int offset) {
+        bodyOffset = offset;
+    }
+
+    /**
+     * True while the title is still undecoded bytes
+     */
+    @JsonIgnore
+    public boolean isTitlePending() {
+        return titleOffset != MATERIALIZED;
+    }
+
+    /**
+     * True while the body is still undecoded bytes
+     */
+    @JsonIgnore
+    public boolean isBodyPending() {
+        return bodyOffset != MATERIALIZED;
+    }
+
+    /**
+     * True when this post holds on to the source JSON buffer
+     */
+    @JsonIgnore
+    public boolean isSourceRetained() {
+        return source != null;
+    }
+
+    @Override
+    public String getTitle() {
+        int offset = titleOffset;
+        if (offset != MATERIALIZED) {
+            super.setTitle(LazyPostDecoder.readString(source, offset));
+            titleOffset = MATERIALIZED;
+        }
+        return super.getTitle();
+    }
+
+    @Override
+    public void setTitle(String title) {
+        super.setTitle(title);
+        titleOffset = MATERIALIZED;
+    }
+
+    @Override
+    public String getBody() {
+        int offset = bodyOffset;
+        if (offset != MATERIALIZED) {
+            super.setBody(LazyPostDecoder.readString(source, offset));
+            bodyOffset = MATERIALIZED;
+        }
+        return super.getBody();
+    }
+
+    @Override
+    public void setBody(String body) {
+        super.setBody(body);
+        bodyOffset = MATERIALIZED;
+    }
+}
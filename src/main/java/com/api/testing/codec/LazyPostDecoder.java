@@ -0,0 +1,257 @@
+package com.api.testing.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Streaming decoder producing LazyPost objects from a JSON buffer
+ * title and body are not decoded: only the byte offset of their value is recorded and
+ * the String is built on first getter access. Fields outside the projection are skipped
+ * at the token level and stay null, so a projection of id,userId never allocates a
+ * String for either text field, nor keeps the source buffer reachable. id and userId must
+ * be JSON integers. Thread-safe; instances can be shared.
+ */
+public class LazyPostDecoder {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final Set<PostField> projection;
+    private final boolean lazyText;
+
+    /**
+     * Decodes every field, title and body lazily
+     */
+    public LazyPostDecoder() {
+        this(EnumSet.allOf(PostField.class));
+    }
+
+    /**
+     * Decodes only the given fields; the others are left null
+     */
+    public LazyPostDecoder(Set<PostField> projection) {
+        this.projection = projection.isEmpty()
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(EnumSet.copyOf(projection));
+        this.lazyText = projection.contains(PostField.TITLE) || projection.contains(PostField.BODY);
+    }
+
+    /**
+     * Shorthand for new LazyPostDecoder(PostField.parse(projection)), e.g. projecting("id,userId")
+     */
+    public static LazyPostDecoder projecting(String projection) {
+        return new LazyPostDecoder(PostField.parse(projection));
+    }
+
+    public Set<PostField> projection() {
+        return projection;
+    }
+
+    /**
+     * Decodes a single Post object. Unless title and body are both outside the projection,
+     * the returned post keeps source reachable, so the buffer must not be modified afterwards.
+     */
+    public LazyPost decodePost(byte[] source) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(source)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT, parser);
+            return readPost(parser, source);
+        }
+    }
+
+    /**
+     * Decodes a JSON array of Post objects sharing the one source buffer
+     */
+    public List<LazyPost> decodePosts(byte[] source) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(source)) {
+            expect(parser.nextToken(), JsonToken.START_ARRAY, parser);
+            List<LazyPost> posts = new ArrayList<>();
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                expect(token, JsonToken.START_OBJECT, parser);
+                posts.add(readPost(parser, source));
+            }
+            return posts;
+        }
+    }
+
+    private LazyPost readPost(JsonParser parser, byte[] source) throws IOException {
+        LazyPost post = new LazyPost(lazyText ? source : null);
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            PostField field = PostField.forJsonName(parser.getCurrentName());
+            JsonToken value = parser.nextToken();
+            if (field == null || !projection.contains(field) || value == JsonToken.VALUE_NULL) {
+                // Containers are skipped whole; an unread string is skipped by the next
+                // nextToken() without ever being decoded
+                parser.skipChildren();
+                continue;
+            }
+            switch (field) {
+                case ID:
+                    post.setId(intValue(parser, value, field));
+                    break;
+                case USER_ID:
+                    post.setUserId(intValue(parser, value, field));
+                    break;
+                case TITLE:
+                    if (value == JsonToken.VALUE_STRING) {
+                        post.deferTitle(valueOffset(parser));
+                    } else {
+                        post.setTitle(parser.getValueAsString());
+                    }
+                    break;
+                case BODY:
+                    if (value == JsonToken.VALUE_STRING) {
+                        post.deferBody(valueOffset(parser));
+                    } else {
+                        post.setBody(parser.getValueAsString());
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return post;
+    }
+
+    /**
+     * Decodes the JSON string literal starting at offset (its opening quote)
+     * Literals without escapes are plain UTF-8 and are copied straight out of the buffer;
+     * escapes are resolved into a byte copy, which is never longer than the literal
+     */
+    static String readString(byte[] source, int offset) {
+        int start = offset + 1;
+        int end = start;
+        boolean escaped = false;
+        while (end < source.length && source[end] != '"') {
+            if (source[end] == '\\') {
+                escaped = true;
+                end++;
+            }
+            end++;
+        }
+        if (end >= source.length) {
+            throw new UncheckedIOException(new IOException("Unterminated string at offset " + offset));
+        }
+        if (!escaped) {
+            return new String(source, start, end - start, StandardCharsets.UTF_8);
+        }
+
+        byte[] out = new byte[end - start];
+        int length = 0;
+        int i = start;
+        while (true) {
+            int run = i;
+            while (i < end && source[i] != '\\') {
+                i++;
+            }
+            System.arraycopy(source, run, out, length, i - run);
+            length += i - run;
+            if (i == end) {
+                return new String(out, 0, length, StandardCharsets.UTF_8);
+            }
+            byte escape = source[i + 1];
+            i += 2;
+            switch (escape) {
+                case 'b': out[length++] = '\b'; break;
+                case 'f': out[length++] = '\f'; break;
+                case 'n': out[length++] = '\n'; break;
+                case 'r': out[length++] = '\r'; break;
+                case 't': out[length++] = '\t'; break;
+                case 'u':
+                    int codePoint = hex4(source, i);
+                    i += 4;
+                    if (Character.isHighSurrogate((char) codePoint)
+                            && i + 6 <= end && source[i] == '\\' && source[i + 1] == 'u') {
+                        int low = hex4(source, i + 2);
+                        if (Character.isLowSurrogate((char) low)) {
+                            codePoint = Character.toCodePoint((char) codePoint, (char) low);
+                            i += 6;
+                        }
+                    }
+                    if (codePoint >= Character.MIN_SURROGATE && codePoint <= Character.MAX_SURROGATE) {
+                        // A lone surrogate has no UTF-8 form; let the parser keep it as a char
+                        return parseString(source, offset);
+                    }
+                    length = putUtf8(out, length, codePoint);
+                    break;
+                default:
+                    // \" \\ and \/ stand for themselves
+                    out[length++] = escape;
+            }
+        }
+    }
+
+    private static String parseString(byte[] source, int offset) {
+        try (JsonParser parser = JSON_FACTORY.createParser(source, offset, source.length - offset)) {
+            parser.nextToken();
+            return parser.getText();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode string at offset " + offset, e);
+        }
+    }
+
+    private static int hex4(byte[] source, int from) {
+        int value = 0;
+        for (int i = from; i < from + 4; i++) {
+            int digit = Character.digit(source[i], 16);
+            if (digit < 0) {
+                throw new UncheckedIOException(new IOException("Invalid \\u escape at offset " + from));
+            }
+            value = value << 4 | digit;
+        }
+        return value;
+    }
+
+    private static int putUtf8(byte[] out, int at, int codePoint) {
+        if (codePoint < 0x80) {
+            out[at++] = (byte) codePoint;
+        } else if (codePoint < 0x800) {
+            out[at++] = (byte) (0xC0 | codePoint >> 6);
+            out[at++] = (byte) (0x80 | codePoint & 0x3F);
+        } else if (codePoint < 0x10000) {
+            out[at++] = (byte) (0xE0 | codePoint >> 12);
+            out[at++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+            out[at++] = (byte) (0x80 | codePoint & 0x3F);
+        } else {
+            out[at++] = (byte) (0xF0 | codePoint >> 18);
+            out[at++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+            out[at++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+            out[at++] = (byte) (0x80 | codePoint & 0x3F);
+        }
+        return at;
+    }
+
+    /**
+     * The current value as an int, like ObjectMapper reads it into Post but without coercing
+     * strings, floats or booleans; out-of-range numbers fail as well
+     */
+    private static int intValue(JsonParser parser, JsonToken value, PostField field) throws IOException {
+        if (value != JsonToken.VALUE_NUMBER_INT) {
+            throw MismatchedInputException.from(parser, Integer.class,
+                    "Expected an integer for " + field.jsonName() + " but found " + value);
+        }
+        return parser.getIntValue();
+    }
+
+    private static int valueOffset(JsonParser parser) {
+        // Location of the current token is its opening quote, relative to the buffer start
+        return (int) parser.getTokenLocation().getByteOffset();
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected, JsonParser parser) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Expected " + expected + " but found " + actual
+                    + " at " + parser.getTokenLocation());
+        }
+    }
+}
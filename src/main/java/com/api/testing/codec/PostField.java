@@ -0,0 +1,58 @@
+package com.api.testing.codec;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Fields of a Post as named in the JSON payload
+ */
+public enum PostField {
+
+    ID("id"),
+    TITLE("title"),
+    BODY("body"),
+    USER_ID("userId");
+
+    private final String jsonName;
+
+    PostField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    public String jsonName() {
+        return jsonName;
+    }
+
+    /**
+     * Resolves a JSON property name, or returns null for properties a Post doesn't have
+     */
+    public static PostField forJsonName(String name) {
+        switch (name) {
+            case "id":
+                return ID;
+            case "title":
+                return TITLE;
+            case "body":
+                return BODY;
+            case "userId":
+                return USER_ID;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Parses a projection such as "id,userId"
+     */
+    public static Set<PostField> parse(String projection) {
+        Set<PostField> fields = EnumSet.noneOf(PostField.class);
+        for (String name : projection.split(",")) {
+            PostField field = forJsonName(name.trim());
+            if (field == null) {
+                throw new IllegalArgumentException("Unknown Post field '" + name.trim() + "' in projection: " + projection);
+            }
+            fields.add(field);
+        }
+        return fields;
+    }
+}
@@ -13,6 +13,11 @@ public class ApiConfig {
     public static final String POSTS_ENDPOINT = "/posts";
     public static final String POST_BY_ID_ENDPOINT = "/posts/{id}";
     
+    // Pagination query parameters (JSONPlaceholder / json-server style)
+    public static final String PAGE_PARAM = "_page";
+    public static final String LIMIT_PARAM = "_limit";
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    
     // WireMock configuration
     public static final int WIREMOCK_PORT = 8089;
     public static final String WIREMOCK_BASE_URL = "http://localhost:" + WIREMOCK_PORT;
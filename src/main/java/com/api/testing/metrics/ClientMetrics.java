@@ -0,0 +1,199 @@
+package com.api.testing.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-phase timings, allocation and request counters for API client calls
+ * All counters are LongAdder based, so recording never takes a lock. The registry is
+ * exported Micrometer-style: one "posts.client.phase" timer per phase tag, request
+ * and error counters and a "posts.client.request.allocation" summary, as a map or a
+ * JSON report.
+ * Allocation is probed through ThreadMXBean, which costs far more than the timers, so it
+ * is sampled: only about one request in allocationSampleEvery is probed, and none by default.
+ */
+public class ClientMetrics {
+
+    public static final String METER_PREFIX = "posts.client";
+
+    private static final com.sun.management.ThreadMXBean ALLOCATION_BEAN = allocationBean();
+
+    private final Map<Phase, PhaseTimer> timers = new EnumMap<>(Phase.class);
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final int allocationSampleEvery;
+    private final LongAdder sampledRequests = new LongAdder();
+    private final LongAdder requestAllocatedBytes = new LongAdder();
+    private final LongAccumulator maxRequestAllocatedBytes = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Timings and counters only; no request has its allocation probed
+     */
+    public ClientMetrics() {
+        this(0);
+    }
+
+    /**
+     * @param allocationSampleEvery probe the allocation of about one request in this many;
+     *                              1 probes every request, 0 none
+     */
+    public ClientMetrics(int allocationSampleEvery) {
+        if (allocationSampleEvery < 0) {
+            throw new IllegalArgumentException("allocationSampleEvery must be >= 0, got " + allocationSampleEvery);
+        }
+        this.allocationSampleEvery = allocationSampleEvery;
+        for (Phase phase : Phase.values()) {
+            timers.put(phase, new PhaseTimer());
+        }
+    }
+
+    public PhaseTimer timer(Phase phase) {
+        return timers.get(phase);
+    }
+
+    public void recordRequest() {
+        requests.increment();
+    }
+
+    public void recordError() {
+        errors.increment();
+    }
+
+    /**
+     * Decides whether the request about to be sent has its allocation probed
+     * Always false when the JVM can't measure allocation; needs no shared state
+     */
+    public boolean sampleAllocation() {
+        if (allocationSampleEvery == 0 || ALLOCATION_BEAN == null) {
+            return false;
+        }
+        return allocationSampleEvery == 1 || ThreadLocalRandom.current().nextInt(allocationSampleEvery) == 0;
+    }
+
+    /**
+     * Records the bytes one sampled request allocated on the client's own threads,
+     * serializing its body and decoding its response
+     */
+    public void recordRequestAllocation(long bytes) {
+        sampledRequests.increment();
+        requestAllocatedBytes.add(bytes);
+        maxRequestAllocatedBytes.accumulate(bytes);
+    }
+
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    public long getSampledRequestCount() {
+        return sampledRequests.sum();
+    }
+
+    public long getRequestAllocatedBytes() {
+        return requestAllocatedBytes.sum();
+    }
+
+    public long getMaxRequestAllocatedBytes() {
+        return maxRequestAllocatedBytes.get();
+    }
+
+    public void reset() {
+        timers.values().forEach(PhaseTimer::reset);
+        requests.reset();
+        errors.reset();
+        sampledRequests.reset();
+        requestAllocatedBytes.reset();
+        maxRequestAllocatedBytes.reset();
+    }
+
+    /**
+     * Bytes allocated so far by the current thread, or -1 when the JVM can't tell
+     * Differences between two calls on the same thread give a phase's allocation
+     */
+    public static long currentThreadAllocatedBytes() {
+        return ALLOCATION_BEAN != null
+                ? ALLOCATION_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId())
+                : -1;
+    }
+
+    /**
+     * Meters in registration order, shaped like a Micrometer registry dump
+     */
+    public List<Map<String, Object>> toMeters() {
+        List<Map<String, Object>> meters = new ArrayList<>();
+        meters.add(counter(METER_PREFIX + ".requests", requests.sum()));
+        meters.add(counter(METER_PREFIX + ".errors", errors.sum()));
+        for (Map.Entry<Phase, PhaseTimer> entry : timers.entrySet()) {
+            PhaseTimer timer = entry.getValue();
+            long count = timer.getCount();
+            Map<String, Object> meter = new LinkedHashMap<>();
+            meter.put("name", METER_PREFIX + ".phase");
+            meter.put("type", "timer");
+            meter.put("tags", Map.of("phase", entry.getKey().tag()));
+            meter.put("count", count);
+            meter.put("totalTimeMs", timer.getTotalNanos() / 1_000_000.0);
+            meter.put("meanMs", count == 0 ? 0.0 : timer.getTotalNanos() / 1_000_000.0 / count);
+            meter.put("maxMs", timer.getMaxNanos() / 1_000_000.0);
+            meter.put("allocationSamples", timer.getAllocationSamples());
+            meter.put("allocatedBytes", timer.getAllocatedBytes());
+            meters.add(meter);
+        }
+        long sampled = sampledRequests.sum();
+        Map<String, Object> allocation = new LinkedHashMap<>();
+        allocation.put("name", METER_PREFIX + ".request.allocation");
+        allocation.put("type", "distribution_summary");
+        allocation.put("baseUnit", "bytes");
+        allocation.put("count", sampled);
+        allocation.put("total", requestAllocatedBytes.sum());
+        allocation.put("mean", sampled == 0 ? 0.0 : (double) requestAllocatedBytes.sum() / sampled);
+        allocation.put("max", maxRequestAllocatedBytes.get());
+        meters.add(allocation);
+        return meters;
+    }
+
+    /**
+     * Writes the meters as a pretty-printed JSON report, creating parent directories
+     */
+    public void writeJson(Path file, String source) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("source", source);
+        report.put("meters", toMeters());
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+    }
+
+    private static Map<String, Object> counter(String name, long value) {
+        Map<String, Object> meter = new LinkedHashMap<>();
+        meter.put("name", name);
+        meter.put("type", "counter");
+        meter.put("count", value);
+        return meter;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+                return sunBean;
+            }
+        }
+        return null;
+    }
+}
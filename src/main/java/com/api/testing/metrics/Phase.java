@@ -0,0 +1,33 @@
+package com.api.testing.metrics;
+
+/**
+ * Phases of a single Posts API call, in the order they happen
+ */
+public enum Phase {
+
+    // Encoding the request Post with ObjectMapper, on the calling thread
+    SERIALIZE("serialize"),
+
+    // From sendAsync until response headers arrive: connection setup (or pool checkout),
+    // request write and server time; java.net.http does not expose these separately
+    TIME_TO_HEADERS("time_to_headers"),
+
+    // Time the decode thread spent blocked waiting for response body bytes
+    BODY_READ("body_read"),
+
+    // Inflating and readValue into Post, excluding time blocked on the socket
+    DESERIALIZE("deserialize");
+
+    private final String tag;
+
+    Phase(String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * Value of the "phase" tag in exported meters
+     */
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,62 @@
+package com.api.testing.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free timer for one Phase: count, total and max duration, and bytes allocated
+ * by the occurrences whose allocation was sampled
+ * Recording is a handful of striped adds, safe from any number of threads
+ */
+public final class PhaseTimer {
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder allocationSamples = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+
+    PhaseTimer() {
+    }
+
+    /**
+     * Records one occurrence; allocated is ignored when negative (not sampled, or unsupported)
+     */
+    public void record(long nanos, long allocated) {
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        if (allocated >= 0) {
+            allocationSamples.increment();
+            allocatedBytes.add(allocated);
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public long getAllocationSamples() {
+        return allocationSamples.sum();
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    void reset() {
+        count.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+        allocationSamples.reset();
+        allocatedBytes.reset();
+    }
+}
@@ -64,35 +64,37 @@ public class Post {
         this.userId = userId;
     }
     
+    // toString, equals and hashCode go through the getters so that subclasses
+    // decoding fields on demand (see codec.LazyPost) compare by value
     @Override
     public String toString() {
         return "Post{" +
-                "id=" + id +
-                ", title='" + title + '\'' +
-                ", body='" + body + '\'' +
-                ", userId=" + userId +
+                "id=" + getId() +
+                ", title='" + getTitle() + '\'' +
+                ", body='" + getBody() + '\'' +
+                ", userId=" + getUserId() +
                 '}';
     }
     
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
+        if (!(o instanceof Post)) return false;
         
         Post post = (Post) o;
         
-        if (id != null ? !id.equals(post.id) : post.id != null) return false;
-        if (title != null ? !title.equals(post.title) : post.title != null) return false;
-        if (body != null ? !body.equals(post.body) : post.body != null) return false;
-        return userId != null ? userId.equals(post.userId) : post.userId == null;
+        if (getId() != null ? !getId().equals(post.getId()) : post.getId() != null) return false;
+        if (getTitle() != null ? !getTitle().equals(post.getTitle()) : post.getTitle() != null) return false;
+        if (getBody() != null ? !getBody().equals(post.getBody()) : post.getBody() != null) return false;
+        return getUserId() != null ? getUserId().equals(post.getUserId()) : post.getUserId() == null;
     }
     
     @Override
     public int hashCode() {
-        int result = id != null ? id.hashCode() : 0;
-        result = 31 * result + (title != null ? title.hashCode() : 0);
-        result = 31 * result + (body != null ? body.hashCode() : 0);
-        result = 31 * result + (userId != null ? userId.hashCode() : 0);
+        int result = getId() != null ? getId().hashCode() : 0;
+        result = 31 * result + (getTitle() != null ? getTitle().hashCode() : 0);
+        result = 31 * result + (getBody() != null ? getBody().hashCode() : 0);
+        result = 31 * result + (getUserId() != null ? getUserId().hashCode() : 0);
         return result;
     }
 }
@@ -0,0 +1,127 @@
+package com.api.testing.benchmark;
+
+import com.api.testing.client.AsyncPostsClient;
+import com.api.testing.config.ApiConfig;
+import com.api.testing.metrics.ClientMetrics;
+import com.api.testing.tests.TestUtils;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the ClientMetrics instrumentation stays within its 1% overhead budget
+ * Measured end to end: the same GET /posts is sent with and without metrics, alternating
+ * request by request (and which of the two goes first) so drift and GC hit both equally.
+ * Each round yields the median of the per-pair differences over the median latency
+ * without metrics, i.e. (with - without) / without on paired samples; the budget is
+ * asserted on the median over all rounds. The registry is the default one, which times
+ * every phase but probes no allocation; sampled allocation is paid for by the samples only
+ * Run with: mvn test -Pbenchmark -Dtest=ClientMetricsOverheadBenchmark
+ */
+public class ClientMetricsOverheadBenchmark {
+
+    private static final double OVERHEAD_BUDGET = 0.01;
+    private static final int POST_COUNT = 100;
+    private static final int WARMUP_PAIRS = 500;
+    private static final int ROUNDS = 15;
+    private static final int PAIRS_PER_ROUND = 1000;
+
+    private WireMockServer wireMockServer;
+    private AsyncPostsClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        wireMockServer = new WireMockServer(0);
+        wireMockServer.start();
+        wireMockServer.stubFor(get(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_OK)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(TestUtils.toJson(TestUtils.createPosts(POST_COUNT)))));
+        client = new AsyncPostsClient("http://localhost:" + wireMockServer.port());
+    }
+
+    @AfterEach
+    void tearDown() {
+        wireMockServer.stop();
+    }
+
+    @Test
+    void benchmarkInstrumentationOverhead() throws Exception {
+        ClientMetrics metrics = new ClientMetrics();
+        AsyncPostsClient instrumented = client.withMetrics(metrics);
+
+        runPairs(client, instrumented, WARMUP_PAIRS, new long[WARMUP_PAIRS], new long[WARMUP_PAIRS]);
+
+        double[] overheads = new double[ROUNDS];
+        long[] plainMedians = new long[ROUNDS];
+        long[] metricsMedians = new long[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            long[] plain = new long[PAIRS_PER_ROUND];
+            long[] withMetrics = new long[PAIRS_PER_ROUND];
+            runPairs(client, instrumented, PAIRS_PER_ROUND, plain, withMetrics);
+            long[] differences = new long[PAIRS_PER_ROUND];
+            for (int i = 0; i < PAIRS_PER_ROUND; i++) {
+                differences[i] = withMetrics[i] - plain[i];
+            }
+            plainMedians[round] = median(plain);
+            metricsMedians[round] = median(withMetrics);
+            overheads[round] = (double) median(differences) / plainMedians[round];
+        }
+        Arrays.sort(overheads);
+        double overhead = overheads[ROUNDS / 2];
+
+        System.out.printf("%n[ClientMetricsOverheadBenchmark] GET /posts, %d posts, %d rounds of %d interleaved pairs%n",
+                POST_COUNT, ROUNDS, PAIRS_PER_ROUND);
+        System.out.printf("  median without metrics   %10.1f us%n", median(plainMedians) / 1000.0);
+        System.out.printf("  median with metrics      %10.1f us%n", median(metricsMedians) / 1000.0);
+        System.out.printf("  overhead per round       %s%n", formatPercent(overheads));
+        System.out.printf("  overhead (median round)  %10.3f %% (budget %.0f %%)%n", overhead * 100, OVERHEAD_BUDGET * 100);
+
+        assertTrue(overhead < OVERHEAD_BUDGET,
+                String.format("Instrumentation overhead %.3f%% exceeds %.0f%%", overhead * 100, OVERHEAD_BUDGET * 100));
+    }
+
+    /**
+     * Sends pairs of identical requests, one per client, swapping the order every pair
+     */
+    private static void runPairs(AsyncPostsClient plain, AsyncPostsClient instrumented, int pairs,
+                                 long[] plainSamples, long[] metricsSamples) throws Exception {
+        for (int i = 0; i < pairs; i++) {
+            if (i % 2 == 0) {
+                plainSamples[i] = timeRequest(plain);
+                metricsSamples[i] = timeRequest(instrumented);
+            } else {
+                metricsSamples[i] = timeRequest(instrumented);
+                plainSamples[i] = timeRequest(plain);
+            }
+        }
+    }
+
+    private static long timeRequest(AsyncPostsClient target) throws Exception {
+        long start = System.nanoTime();
+        assertEquals(POST_COUNT, target.getAllPosts().get(5, TimeUnit.SECONDS).size());
+        return System.nanoTime() - start;
+    }
+
+    private static long median(long[] samples) {
+        long[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+
+    private static String formatPercent(double[] values) {
+        StringBuilder out = new StringBuilder();
+        for (double value : values) {
+            out.append(String.format("%+.2f%% ", value * 100));
+        }
+        return out.toString().trim();
+    }
+}
@@ -0,0 +1,103 @@
+package com.api.testing.benchmark;
+
+import com.api.testing.codec.LazyPost;
+import com.api.testing.codec.LazyPostDecoder;
+import com.api.testing.metrics.ClientMetrics;
+import com.api.testing.models.Post;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares eager ObjectMapper decoding of a large /posts array with lazy and projecting
+ * decoding, for a check that only reads ids (the common structure check) and for one
+ * that reads every field. Time is the median per decode, allocation the per-decode
+ * bytes allocated by the decoding thread.
+ * Run with: mvn test -Pbenchmark -Dtest=LazyPostDecodingBenchmark
+ */
+public class LazyPostDecodingBenchmark {
+
+    private static final int POST_COUNT = 100_000;
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASURED_ITERATIONS = 20;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void benchmarkLargePostsArray() throws Exception {
+        byte[] json = objectMapper.writeValueAsBytes(createPosts(POST_COUNT));
+        LazyPostDecoder lazy = new LazyPostDecoder();
+        LazyPostDecoder projecting = LazyPostDecoder.projecting("id,userId");
+
+        assertEquals(Arrays.asList(objectMapper.readValue(json, Post[].class)), lazy.decodePosts(json));
+
+        System.out.printf("%n[LazyPostDecodingBenchmark] %,d posts, %,d bytes%n", POST_COUNT, json.length);
+        System.out.printf("  %-34s %12s %16s%n", "mode", "ms/decode", "MB alloc/decode");
+        report("ObjectMapper, ids only", () -> sumIds(Arrays.asList(objectMapper.readValue(json, Post[].class))));
+        report("lazy, ids only", () -> sumIds(lazy.decodePosts(json)));
+        report("projection id,userId", () -> sumIds(projecting.decodePosts(json)));
+        report("ObjectMapper, all fields", () -> readAll(Arrays.asList(objectMapper.readValue(json, Post[].class))));
+        report("lazy, all fields", () -> readAll(lazy.decodePosts(json)));
+    }
+
+    private static void report(String mode, Operation operation) throws Exception {
+        long sink = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            sink += operation.run();
+        }
+        long[] nanos = new long[MEASURED_ITERATIONS];
+        long[] allocated = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long allocatedBefore = ClientMetrics.currentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            sink += operation.run();
+            nanos[i] = System.nanoTime() - start;
+            allocated[i] = ClientMetrics.currentThreadAllocatedBytes() - allocatedBefore;
+        }
+        assertTrue(sink > 0);
+        Arrays.sort(nanos);
+        Arrays.sort(allocated);
+        System.out.printf("  %-34s %12.1f %16.1f%n", mode,
+                nanos[MEASURED_ITERATIONS / 2] / 1_000_000.0,
+                allocated[MEASURED_ITERATIONS / 2] / 1024.0 / 1024.0);
+    }
+
+    private static long sumIds(List<? extends Post> posts) {
+        long sum = 0;
+        for (Post post : posts) {
+            sum += post.getId() + post.getUserId();
+        }
+        return sum;
+    }
+
+    private static long readAll(List<? extends Post> posts) {
+        long sum = 0;
+        for (Post post : posts) {
+            sum += post.getId() + post.getTitle().length() + post.getBody().length();
+        }
+        return sum;
+    }
+
+    /**
+     * Posts with JSONPlaceholder-sized text, so skipping title and body is measurable
+     */
+    private static List<Post> createPosts(int count) {
+        String title = "sunt aut facere repellat provident occaecati excepturi optio";
+        String body = "quia et suscipit\nsuscipit recusandae consequuntur expedita et cum\n"
+                + "reprehenderit molestiae ut ut quas totam\nnostrum rerum est autem sunt rem eveniet architecto";
+        List<Post> posts = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            posts.add(new Post(id, title + " " + id, body + " " + id, id % 10 + 1));
+        }
+        return posts;
+    }
+
+    private interface Operation {
+        long run() throws Exception;
+    }
+}
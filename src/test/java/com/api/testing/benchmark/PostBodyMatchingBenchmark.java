@@ -0,0 +1,138 @@
+package com.api.testing.benchmark;
+
+import com.api.testing.client.AsyncPostsClient;
+import com.api.testing.config.ApiConfig;
+import com.api.testing.models.Post;
+import com.api.testing.tests.TestUtils;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.matching.StringValuePattern;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static com.api.testing.wiremock.PostJsonDigestPattern.equalToPostJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares equalToJson with the canonical-digest matcher when thousands of stubs match on body
+ * Three measurements per matcher and stub count:
+ * - match: one request body tried against every stub's pattern in-process, a fresh body
+ *   String per stub as WireMock hands it over
+ * - request: median latency of POST /posts through WireMock, which tries every stub
+ * - verify: median time of one wireMockServer.verify over the journal of those requests
+ * Run with: mvn test -Pbenchmark -Dtest=PostBodyMatchingBenchmark
+ */
+public class PostBodyMatchingBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 21;
+    private static final int REQUESTS = 50;
+
+    @Test
+    void benchmark1000Stubs() throws Exception {
+        run(1_000);
+    }
+
+    @Test
+    void benchmark5000Stubs() throws Exception {
+        run(5_000);
+    }
+
+    private void run(int stubCount) throws Exception {
+        List<Post> posts = TestUtils.createPosts(stubCount);
+        System.out.printf("%n[PostBodyMatchingBenchmark] %,d body-matched stubs, %d requests%n", stubCount, REQUESTS);
+        System.out.printf("  %-12s %16s %16s %16s%n", "matcher", "match ms/req", "request ms", "verify ms");
+        measure("equalToJson", posts, post -> equalToJson(json(post)));
+        measure("digest", posts, post -> equalToPostJson(post));
+    }
+
+    private void measure(String label, List<Post> posts, Function<Post, StringValuePattern> matcher) throws Exception {
+        List<StringValuePattern> patterns = new ArrayList<>(posts.size());
+        for (Post post : posts) {
+            patterns.add(matcher.apply(post));
+        }
+        // Bodies of posts spread over the stub list, so matches are found early and late
+        List<Post> requested = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            requested.add(posts.get((int) ((long) i * 7919 % posts.size())));
+        }
+
+        double matchMillis = medianMillis(() -> {
+            int matched = 0;
+            for (Post post : requested.subList(0, 5)) {
+                byte[] body = json(post).getBytes(StandardCharsets.UTF_8);
+                for (StringValuePattern pattern : patterns) {
+                    if (pattern.match(new String(body, StandardCharsets.UTF_8)).isExactMatch()) {
+                        matched++;
+                    }
+                }
+            }
+            assertEquals(5, matched);
+        }) / 5;
+
+        WireMockServer server = new WireMockServer(options().dynamicPort());
+        server.start();
+        try {
+            for (int i = 0; i < posts.size(); i++) {
+                server.stubFor(post(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                        .withRequestBody(patterns.get(i))
+                        .willReturn(aResponse()
+                                .withStatus(ApiConfig.HTTP_CREATED)
+                                .withHeader("Content-Type", "application/json")
+                                .withBody(json(posts.get(i)))));
+            }
+            AsyncPostsClient client = new AsyncPostsClient("http://localhost:" + server.port());
+            long[] requestNanos = new long[REQUESTS];
+            for (int i = 0; i < REQUESTS; i++) {
+                long start = System.nanoTime();
+                Post created = client.createPost(requested.get(i)).get(60, TimeUnit.SECONDS);
+                requestNanos[i] = System.nanoTime() - start;
+                assertEquals(requested.get(i), created);
+            }
+            Arrays.sort(requestNanos);
+            double requestMillis = requestNanos[REQUESTS / 2] / 1_000_000.0;
+
+            StringValuePattern verified = patterns.get(posts.indexOf(requested.get(0)));
+            long expectedCount = requested.stream().filter(requested.get(0)::equals).count();
+            double verifyMillis = medianMillis(() -> server.verify((int) expectedCount,
+                    postRequestedFor(urlEqualTo(ApiConfig.POSTS_ENDPOINT)).withRequestBody(verified)));
+
+            System.out.printf("  %-12s %16.3f %16.3f %16.3f%n", label, matchMillis, requestMillis, verifyMillis);
+        } finally {
+            server.stop();
+        }
+    }
+
+    private static String json(Post post) {
+        try {
+            return TestUtils.toJson(post);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static double medianMillis(Operation operation) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            operation.run();
+        }
+        long[] samples = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            operation.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[MEASURED_ITERATIONS / 2] / 1_000_000.0;
+    }
+
+    private interface Operation {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,204 @@
+package com.api.testing.benchmark;
+
+import com.api.testing.client.AsyncPostsClient;
+import com.api.testing.config.ApiConfig;
+import com.api.testing.models.Post;
+import com.api.testing.tests.TestUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares bytes on the wire and end-to-end latency of GET /posts with and without gzip
+ * The client talks to WireMock through a relay counting every byte the server sends back,
+ * so wire bytes are what actually crossed the socket per response, headers included.
+ * Run with: mvn test -Pbenchmark -Dtest=PostsCompressionBenchmark
+ */
+public class PostsCompressionBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 20;
+
+    private WireMockServer wireMockServer;
+    private CountingRelay relay;
+    private ObjectMapper objectMapper;
+    private AsyncPostsClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // Jetty's transparent gzip is off so only the negotiated encoding compresses
+        wireMockServer = new WireMockServer(options().dynamicPort().gzipDisabled(true));
+        wireMockServer.start();
+        relay = new CountingRelay(wireMockServer.port());
+        objectMapper = new ObjectMapper();
+        client = new AsyncPostsClient("http://localhost:" + relay.port());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        relay.close();
+        wireMockServer.stop();
+    }
+
+    @Test
+    void benchmark100Posts() throws Exception {
+        run(100);
+    }
+
+    @Test
+    void benchmark100kPosts() throws Exception {
+        run(100_000);
+    }
+
+    private void run(int postCount) throws Exception {
+        List<Post> posts = TestUtils.createPosts(postCount);
+        byte[] json = objectMapper.writeValueAsBytes(posts);
+        byte[] gzipped = TestUtils.gzip(json);
+
+        // Same resource, body chosen by the negotiated encoding
+        wireMockServer.stubFor(get(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .withHeader("Accept-Encoding", containing("gzip"))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_OK)
+                        .withHeader("Content-Type", "application/json")
+                        .withHeader("Content-Encoding", "gzip")
+                        .withBody(gzipped)));
+        wireMockServer.stubFor(get(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .atPriority(10)
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_OK)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(json)));
+
+        long identityBytes = wireBytesPerResponse(client.withCompression(false), postCount);
+        long gzipBytes = wireBytesPerResponse(client, postCount);
+        double identityMillis = medianMillis(client.withCompression(false), postCount);
+        double gzipMillis = medianMillis(client, postCount);
+
+        System.out.printf("%n[PostsCompressionBenchmark] %,d posts%n", postCount);
+        System.out.printf("  %-10s %14s %14s%n", "encoding", "wire bytes", "median ms");
+        System.out.printf("  %-10s %,14d %14.2f%n", "identity", identityBytes, identityMillis);
+        System.out.printf("  %-10s %,14d %14.2f%n", "gzip", gzipBytes, gzipMillis);
+        System.out.printf("  ratio %.1f%%, latency %+.1f%%%n",
+                100.0 * gzipBytes / identityBytes, 100.0 * (gzipMillis - identityMillis) / identityMillis);
+
+        // Headers cross the wire too, so each response is a little larger than its body
+        assertTrue(identityBytes > json.length);
+        assertTrue(gzipBytes > gzipped.length);
+        assertTrue(gzipBytes < identityBytes);
+    }
+
+    /**
+     * Bytes the server sent for one response, averaged over the measured iterations
+     */
+    private long wireBytesPerResponse(AsyncPostsClient target, int expectedCount) throws Exception {
+        long before = relay.downstreamBytes();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            assertEquals(expectedCount, target.getAllPosts().get(60, TimeUnit.SECONDS).size());
+        }
+        return (relay.downstreamBytes() - before) / MEASURED_ITERATIONS;
+    }
+
+    private double medianMillis(AsyncPostsClient target, int expectedCount) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            assertEquals(expectedCount, target.getAllPosts().get(60, TimeUnit.SECONDS).size());
+        }
+        long[] samples = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            List<Post> posts = target.getAllPosts().get(60, TimeUnit.SECONDS);
+            samples[i] = System.nanoTime() - start;
+            assertEquals(expectedCount, posts.size());
+        }
+        Arrays.sort(samples);
+        return samples[MEASURED_ITERATIONS / 2] / 1_000_000.0;
+    }
+
+    /**
+     * Plain TCP relay to the given local port, counting what flows back to the client
+     */
+    private static final class CountingRelay implements Closeable {
+
+        private final ServerSocket server;
+        private final int targetPort;
+        private final LongAdder downstream = new LongAdder();
+        private final List<Socket> sockets = new CopyOnWriteArrayList<>();
+
+        CountingRelay(int targetPort) throws IOException {
+            this.targetPort = targetPort;
+            this.server = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+            Thread acceptor = new Thread(this::accept, "relay-accept");
+            acceptor.setDaemon(true);
+            acceptor.start();
+        }
+
+        int port() {
+            return server.getLocalPort();
+        }
+
+        long downstreamBytes() {
+            return downstream.sum();
+        }
+
+        private void accept() {
+            try {
+                while (true) {
+                    Socket client = server.accept();
+                    Socket upstream = new Socket(InetAddress.getLoopbackAddress(), targetPort);
+                    sockets.add(client);
+                    sockets.add(upstream);
+                    pump(client, upstream, null);
+                    pump(upstream, client, downstream);
+                }
+            } catch (IOException e) {
+                // Closed
+            }
+        }
+
+        private static void pump(Socket from, Socket to, LongAdder counter) {
+            Thread thread = new Thread(() -> {
+                byte[] buffer = new byte[64 * 1024];
+                try (InputStream in = from.getInputStream(); OutputStream out = to.getOutputStream()) {
+                    int read;
+                    while ((read = in.read(buffer)) != -1) {
+                        out.write(buffer, 0, read);
+                        if (counter != null) {
+                            counter.add(read);
+                        }
+                    }
+                } catch (IOException e) {
+                    // Either side closed
+                }
+            }, "relay-pump");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        @Override
+        public void close() throws IOException {
+            server.close();
+            for (Socket socket : sockets) {
+                socket.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.api.testing.benchmark;
+
+import com.api.testing.client.WireFormat;
+import com.api.testing.models.Post;
+import com.api.testing.tests.TestUtils;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares encoded size and encode/decode throughput of Post[] in JSON, Smile and CBOR
+ * Run with: mvn test -Pbenchmark -Dtest=PostsWireFormatBenchmark
+ */
+public class PostsWireFormatBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASURED_ITERATIONS = 30;
+
+    @Test
+    void benchmark100Posts() throws Exception {
+        run(100, 100);
+    }
+
+    @Test
+    void benchmark100kPosts() throws Exception {
+        run(100_000, 1);
+    }
+
+    private void run(int postCount, int repeatsPerIteration) throws Exception {
+        Post[] posts = TestUtils.createPosts(postCount).toArray(new Post[0]);
+
+        System.out.printf("%n[PostsWireFormatBenchmark] %,d posts%n", postCount);
+        System.out.printf("  %-6s %14s %16s %16s%n", "format", "bytes", "encode posts/s", "decode posts/s");
+        for (WireFormat format : WireFormat.values()) {
+            byte[] encoded = format.mapper().writeValueAsBytes(posts);
+            assertArrayEquals(posts, format.mapper().readValue(encoded, Post[].class));
+
+            long encodeNanos = time(repeatsPerIteration, () -> format.mapper().writeValueAsBytes(posts));
+            long decodeNanos = time(repeatsPerIteration, () -> format.mapper().readValue(encoded, Post[].class));
+
+            System.out.printf("  %-6s %,14d %,16.0f %,16.0f%n", format, encoded.length,
+                    perSecond(postCount, encodeNanos), perSecond(postCount, decodeNanos));
+        }
+    }
+
+    /**
+     * Median nanoseconds per single operation
+     */
+    private static long time(int repeats, Operation operation) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            for (int r = 0; r < repeats; r++) {
+                operation.run();
+            }
+        }
+        long[] samples = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            for (int r = 0; r < repeats; r++) {
+                operation.run();
+            }
+            samples[i] = (System.nanoTime() - start) / repeats;
+        }
+        Arrays.sort(samples);
+        return samples[MEASURED_ITERATIONS / 2];
+    }
+
+    private static double perSecond(int count, long nanos) {
+        return count / (nanos / 1_000_000_000.0);
+    }
+
+    private interface Operation {
+        Object run() throws Exception;
+    }
+}
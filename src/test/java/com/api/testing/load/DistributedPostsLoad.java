@@ -0,0 +1,98 @@
+package com.api.testing.load;
+
+import com.api.testing.config.ApiConfig;
+import com.api.testing.wiremock.BoundedRequestJournal;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.extension.responsetemplating.ResponseTemplateTransformer;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Distributed load run: LoadCoordinator with worker JVMs against a local WireMock
+ * WireMock runs in this JVM with templated responses echoing each request's Post id, so
+ * workers can check that every answer belongs to their id range, and with the bounded
+ * request journal so counts stay exact without the mock's heap growing. Point the workers
+ * at another server with -Dload.baseUrl (no WireMock is started then).
+ * Report: console and target/load/DistributedPostsLoad.json.
+ * Run with: mvn test -Pload [-Dload.workers=4 -Dload.rate=8000 -Dload.durationSeconds=30 -Dload.posts=10000]
+ */
+public class DistributedPostsLoad {
+
+    private static final int WORKERS = Integer.getInteger("load.workers", 2);
+    private static final double RATE = Double.parseDouble(System.getProperty("load.rate", "2000"));
+    private static final long DURATION_SECONDS = Long.getLong("load.durationSeconds", 10);
+    private static final int POSTS = Integer.getInteger("load.posts", 10_000);
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("load.maxInFlight", 64);
+
+    private static final String POST_PATH = ApiConfig.POSTS_ENDPOINT + "/[0-9]+";
+
+    @Test
+    void distributedCrudLoad() throws Exception {
+        String baseUrl = System.getProperty("load.baseUrl");
+        WireMockServer server = null;
+        BoundedRequestJournal journal = new BoundedRequestJournal(1_000, 0.0);
+        if (baseUrl == null) {
+            server = new WireMockServer(journal.applyTo(options()
+                    .dynamicPort()
+                    .containerThreads(Math.max(32, WORKERS * MAX_IN_FLIGHT))
+                    .extensions(new ResponseTemplateTransformer(false))));
+            server.start();
+            stubPosts(server);
+            baseUrl = "http://localhost:" + server.port();
+        }
+        try {
+            LoadCoordinator coordinator = new LoadCoordinator(baseUrl, WORKERS, RATE, DURATION_SECONDS,
+                    1, POSTS, MAX_IN_FLIGHT);
+            LoadReport report = coordinator.run();
+            report.print("Posts CRUD");
+            report.writeJson(Paths.get("target", "load", "DistributedPostsLoad.json"));
+
+            // Every worker ran its share on its own ids, and the shares cover every id once
+            List<WorkerResult> workers = report.getWorkers();
+            assertEquals(WORKERS, workers.size());
+            int nextId = 1;
+            for (WorkerResult worker : workers) {
+                assertEquals(nextId, worker.getFirstId());
+                long expectedIds = Math.min(worker.getLastId() - worker.getFirstId() + 1, (worker.getRequests() + 3) / 4);
+                assertEquals(expectedIds, worker.getDistinctIds());
+                nextId = worker.getLastId() + 1;
+            }
+            assertEquals(POSTS + 1, nextId);
+
+            assertEquals((long) (RATE / WORKERS * DURATION_SECONDS) * WORKERS, report.getRequests());
+            assertEquals(report.getRequests(), report.getLatency().getTotalCount());
+            assertEquals(0, report.getErrorCount(), () -> "Errors: " + report.getErrors());
+            if (server != null) {
+                // Workers' warm-up requests reach the mock too
+                assertTrue(journal.totalCount() >= report.getRequests());
+            }
+        } finally {
+            if (server != null) {
+                server.stop();
+            }
+        }
+    }
+
+    private static void stubPosts(WireMockServer server) {
+        String postFromPath = "{\"id\":{{request.pathSegments.[1]}},\"title\":\"Post {{request.pathSegments.[1]}}\","
+                + "\"body\":\"Body of post {{request.pathSegments.[1]}}\",\"userId\":1}";
+        server.stubFor(get(urlPathMatching(POST_PATH))
+                .willReturn(okJson(postFromPath).withTransformers("response-template")));
+        server.stubFor(put(urlPathMatching(POST_PATH))
+                .willReturn(okJson("{{{request.body}}}").withTransformers("response-template")));
+        server.stubFor(post(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_CREATED)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{{{request.body}}}")
+                        .withTransformers("response-template")));
+        server.stubFor(delete(urlPathMatching(POST_PATH))
+                .willReturn(okJson("{}")));
+    }
+}
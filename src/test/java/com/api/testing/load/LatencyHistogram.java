@@ -0,0 +1,165 @@
+package com.api.testing.load;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mergeable latency histogram with microsecond resolution and ~3% relative precision
+ * Values below 64 us get a bucket each; above that every power of two is split into 32
+ * buckets, as in HdrHistogram, so the whole long range fits in under 2,000 counters.
+ * Recording is lock-free. Histograms from different JVMs merge exactly by adding counts,
+ * which is what makes worker percentiles combinable; averaging per-worker percentiles
+ * would not be.
+ */
+// Derived values are written to reports but rebuilt, not read, on deserialization
+@JsonIgnoreProperties(value = {"totalCount", "meanMicros"}, allowGetters = true)
+public class LatencyHistogram {
+
+    private static final int SUB_BITS = 6;
+    private static final int HALF = 1 << (SUB_BITS - 1);
+    private static final int BUCKETS = (64 - SUB_BITS + 1) * HALF;
+
+    private final AtomicLongArray counts;
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder sumMicros = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    public LatencyHistogram() {
+        counts = new AtomicLongArray(BUCKETS);
+    }
+
+    /**
+     * Rebuilds a histogram from its serialized form; trailing empty buckets may be left out
+     */
+    @JsonCreator
+    public LatencyHistogram(@JsonProperty("counts") long[] counts,
+                            @JsonProperty("sumMicros") long sumMicros,
+                            @JsonProperty("maxMicros") long maxMicros) {
+        this();
+        for (int i = 0; i < counts.length; i++) {
+            this.counts.set(i, counts[i]);
+            totalCount.add(counts[i]);
+        }
+        this.sumMicros.add(sumMicros);
+        this.maxMicros.set(maxMicros);
+    }
+
+    public void recordNanos(long nanos) {
+        long micros = Math.max(0, nanos / 1_000);
+        counts.incrementAndGet(bucket(micros));
+        totalCount.increment();
+        sumMicros.add(micros);
+        maxMicros.accumulateAndGet(micros, Math::max);
+    }
+
+    /**
+     * Adds every value recorded in other to this histogram
+     */
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalCount.add(other.getTotalCount());
+        sumMicros.add(other.getSumMicros());
+        maxMicros.accumulateAndGet(other.getMaxMicros(), Math::max);
+    }
+
+    /**
+     * Smallest recorded bucket bound at or below which percentile % of the values lie, in us
+     * Reported as the bucket's upper bound, capped at the exact maximum.
+     */
+    public long percentileMicros(double percentile) {
+        long total = getTotalCount();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), getMaxMicros());
+            }
+        }
+        return getMaxMicros();
+    }
+
+    public double getMeanMicros() {
+        long total = getTotalCount();
+        return total == 0 ? 0 : (double) getSumMicros() / total;
+    }
+
+    public long getTotalCount() {
+        return totalCount.sum();
+    }
+
+    public long getSumMicros() {
+        return sumMicros.sum();
+    }
+
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    /**
+     * Bucket counts up to the last non-empty one, for serialization
+     */
+    public long[] getCounts() {
+        int length = BUCKETS;
+        while (length > 0 && counts.get(length - 1) == 0) {
+            length--;
+        }
+        long[] copy = new long[length];
+        for (int i = 0; i < length; i++) {
+            copy[i] = counts.get(i);
+        }
+        return copy;
+    }
+
+    static int bucket(long micros) {
+        if (micros < 2 * HALF) {
+            return (int) micros;
+        }
+        int shift = 64 - Long.numberOfLeadingZeros(micros) - SUB_BITS;
+        return shift * HALF + (int) (micros >>> shift);
+    }
+
+    static long upperBound(int bucket) {
+        if (bucket < 2 * HALF) {
+            return bucket;
+        }
+        int shift = bucket / HALF - 1;
+        long top = bucket - (long) shift * HALF;
+        return ((top + 1) << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d p50=%dus p99=%dus max=%dus", getTotalCount(),
+                percentileMicros(50), percentileMicros(99), getMaxMicros());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof LatencyHistogram)) {
+            return false;
+        }
+        LatencyHistogram that = (LatencyHistogram) o;
+        return getSumMicros() == that.getSumMicros() && getMaxMicros() == that.getMaxMicros()
+                && Arrays.equals(getCounts(), that.getCounts());
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(getCounts());
+    }
+}
@@ -0,0 +1,77 @@
+package com.api.testing.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the mergeable latency histogram and the coordinator's work split
+ */
+public class LatencyHistogramTest {
+
+    @Test
+    void testBucketsCoverTheRangeWithBoundedError() {
+        // Every value falls into a bucket whose upper bound is within ~3% above it
+        long[] values = {0, 1, 63, 64, 65, 127, 128, 1_000, 99_999, 1L << 40, Long.MAX_VALUE / 1_000};
+        for (long value : values) {
+            long upper = LatencyHistogram.upperBound(LatencyHistogram.bucket(value));
+            assertTrue(upper >= value, "upper bound below " + value);
+            assertTrue(upper - value <= Math.max(1, value / 32), "bucket too wide at " + value);
+        }
+        for (int bucket = 1; bucket < 1_000; bucket++) {
+            assertEquals(bucket, LatencyHistogram.bucket(LatencyHistogram.upperBound(bucket)));
+            assertEquals(bucket, LatencyHistogram.bucket(LatencyHistogram.upperBound(bucket - 1) + 1));
+        }
+    }
+
+    @Test
+    void testMergedHistogramEqualsOneRecordingEverything() throws Exception {
+        // Arrange
+        Random random = new Random(42);
+        LatencyHistogram all = new LatencyHistogram();
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        for (int i = 0; i < 100_000; i++) {
+            // Log-normal-ish latencies around 1 ms with a long tail
+            long nanos = (long) (1_000_000 * Math.exp(random.nextGaussian()));
+            all.recordNanos(nanos);
+            (i % 3 == 0 ? first : second).recordNanos(nanos);
+        }
+
+        // Act - the second half travels as JSON, as it does from a worker JVM
+        ObjectMapper mapper = new ObjectMapper();
+        LatencyHistogram merged = new LatencyHistogram();
+        merged.merge(first);
+        merged.merge(mapper.readValue(mapper.writeValueAsString(second), LatencyHistogram.class));
+
+        // Assert
+        assertEquals(all, merged);
+        assertEquals(100_000, merged.getTotalCount());
+        assertEquals(all.percentileMicros(99.9), merged.percentileMicros(99.9));
+        long p50 = merged.percentileMicros(50);
+        assertTrue(p50 >= 970 && p50 <= 1_040, "p50 of ~1 ms was " + p50 + " us");
+        assertTrue(merged.percentileMicros(100) == merged.getMaxMicros());
+    }
+
+    @Test
+    void testCoordinatorSplitsRateAndIdsEvenly() {
+        // Act
+        List<WorkerPlan> plans = new LoadCoordinator("http://localhost:1", 3, 1_000, 10, 1, 100, 16).plans();
+
+        // Assert - contiguous, disjoint ranges of 34, 33, 33 ids and a third of the rate each
+        assertEquals(3, plans.size());
+        assertEquals(1, plans.get(0).getFirstId());
+        assertEquals(34, plans.get(0).getLastId());
+        assertEquals(35, plans.get(1).getFirstId());
+        assertEquals(68, plans.get(2).getFirstId());
+        assertEquals(100, plans.get(2).getLastId());
+        for (WorkerPlan plan : plans) {
+            assertEquals(1_000 / 3.0, plan.getRatePerSecond(), 1e-9);
+        }
+        assertThrows(IllegalArgumentException.class, () -> new LoadCoordinator("http://localhost:1", 4, 1, 1, 1, 3, 1));
+    }
+}
@@ -0,0 +1,162 @@
+package com.api.testing.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drives the Posts load scenarios from several local worker JVMs and merges their results
+ * One JVM saturates its own selector threads and GC long before a mock provider does, so
+ * the coordinator splits the target rate evenly across workers and the Post ids into
+ * disjoint contiguous ranges, starts one LoadWorker process per share on this machine's
+ * java and class path, releases them together and merges their latency histograms and
+ * error counts into one LoadReport. Workers talk to the coordinator over stdio (see
+ * LoadWorker) and are killed if the run fails or overruns.
+ *
+ * Worker JVM options come from -Dload.workerJvmArgs (default -Xmx256m -XX:+UseParallelGC).
+ */
+public class LoadCoordinator {
+
+    private static final long STARTUP_TIMEOUT_SECONDS = 60;
+    private static final long RESULT_GRACE_SECONDS = 60;
+
+    private final String baseUrl;
+    private final int workers;
+    private final double totalRatePerSecond;
+    private final long durationSeconds;
+    private final int firstId;
+    private final int lastId;
+    private final int maxInFlightPerWorker;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public LoadCoordinator(String baseUrl, int workers, double totalRatePerSecond, long durationSeconds,
+                           int firstId, int lastId, int maxInFlightPerWorker) {
+        if (workers < 1 || lastId - firstId + 1 < workers) {
+            throw new IllegalArgumentException("Need at least one worker and one Post id per worker");
+        }
+        this.baseUrl = baseUrl;
+        this.workers = workers;
+        this.totalRatePerSecond = totalRatePerSecond;
+        this.durationSeconds = durationSeconds;
+        this.firstId = firstId;
+        this.lastId = lastId;
+        this.maxInFlightPerWorker = maxInFlightPerWorker;
+    }
+
+    /**
+     * Even split of rate and ids; range sizes differ by at most one
+     */
+    List<WorkerPlan> plans() {
+        List<WorkerPlan> plans = new ArrayList<>(workers);
+        int ids = lastId - firstId + 1;
+        int from = firstId;
+        for (int w = 0; w < workers; w++) {
+            int size = ids / workers + (w < ids % workers ? 1 : 0);
+            plans.add(new WorkerPlan(w, baseUrl, totalRatePerSecond / workers, durationSeconds,
+                    from, from + size - 1, maxInFlightPerWorker));
+            from += size;
+        }
+        return plans;
+    }
+
+    public LoadReport run() throws IOException, InterruptedException {
+        List<WorkerProcess> processes = new ArrayList<>();
+        try {
+            for (WorkerPlan plan : plans()) {
+                processes.add(start(plan));
+            }
+            for (WorkerProcess process : processes) {
+                process.expect(LoadWorker.READY);
+            }
+            long start = System.nanoTime();
+            for (WorkerProcess process : processes) {
+                process.send(LoadWorker.GO);
+            }
+            List<WorkerResult> results = new ArrayList<>();
+            for (WorkerProcess process : processes) {
+                String line = process.expect(LoadWorker.RESULT_PREFIX);
+                results.add(mapper.readValue(line.substring(LoadWorker.RESULT_PREFIX.length()), WorkerResult.class));
+            }
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            for (WorkerProcess process : processes) {
+                process.process.waitFor(10, TimeUnit.SECONDS);
+            }
+            return new LoadReport(totalRatePerSecond, durationSeconds, elapsedMillis, results);
+        } finally {
+            for (WorkerProcess process : processes) {
+                process.process.destroyForcibly();
+            }
+        }
+    }
+
+    private WorkerProcess start(WorkerPlan plan) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(Arrays.asList(System.getProperty("load.workerJvmArgs", "-Xmx256m -XX:+UseParallelGC").trim().split("\\s+")));
+        command.add("-cp");
+        // Surefire runs tests from a manifest-only jar; its full class path is in this property
+        command.add(System.getProperty("surefire.test.class.path", System.getProperty("java.class.path")));
+        command.add(LoadWorker.class.getName());
+
+        Process process = new ProcessBuilder(command)
+                .redirectError(ProcessBuilder.Redirect.INHERIT)
+                .start();
+        WorkerProcess worker = new WorkerProcess(plan, process);
+        worker.send(mapper.writeValueAsString(plan));
+        return worker;
+    }
+
+    private final class WorkerProcess {
+        private final WorkerPlan plan;
+        private final Process process;
+        private final BufferedReader out;
+        private final Writer in;
+
+        private WorkerProcess(WorkerPlan plan, Process process) {
+            this.plan = plan;
+            this.process = process;
+            this.out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+            this.in = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8);
+        }
+
+        void send(String line) throws IOException {
+            in.write(line);
+            in.write('\n');
+            in.flush();
+        }
+
+        /**
+         * Next protocol line, which must start with prefix; bounded by the run's duration
+         */
+        String expect(String prefix) throws IOException, InterruptedException {
+            long timeoutSeconds = STARTUP_TIMEOUT_SECONDS + durationSeconds + RESULT_GRACE_SECONDS;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+            while (!out.ready()) {
+                if (!process.isAlive() && !out.ready()) {
+                    throw new IOException("Worker " + plan.getWorkerId() + " exited with " + process.exitValue()
+                            + " before sending " + prefix.trim());
+                }
+                if (System.nanoTime() > deadline) {
+                    throw new IOException("Worker " + plan.getWorkerId() + " sent no " + prefix.trim()
+                            + " within " + timeoutSeconds + "s");
+                }
+                Thread.sleep(10);
+            }
+            String line = out.readLine();
+            if (line == null || !line.startsWith(prefix)) {
+                throw new IOException("Worker " + plan.getWorkerId() + " sent '" + line + "', expected " + prefix.trim());
+            }
+            return line;
+        }
+    }
+}
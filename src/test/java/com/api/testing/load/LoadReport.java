@@ -0,0 +1,114 @@
+package com.api.testing.load;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Merged result of a distributed load run: one histogram and error table for all workers
+ */
+public class LoadReport {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final double targetRatePerSecond;
+    private final long durationSeconds;
+    private final long elapsedMillis;
+    private final List<WorkerResult> workers;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final Map<String, Long> errors = new TreeMap<>();
+    private long requests;
+
+    public LoadReport(double targetRatePerSecond, long durationSeconds, long elapsedMillis, List<WorkerResult> workers) {
+        this.targetRatePerSecond = targetRatePerSecond;
+        this.durationSeconds = durationSeconds;
+        this.elapsedMillis = elapsedMillis;
+        this.workers = Collections.unmodifiableList(new ArrayList<>(workers));
+        for (WorkerResult worker : workers) {
+            requests += worker.getRequests();
+            latency.merge(worker.getLatency());
+            worker.getErrors().forEach((kind, count) -> errors.merge(kind, count, Long::sum));
+        }
+    }
+
+    public List<WorkerResult> getWorkers() {
+        return workers;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public Map<String, Long> getErrors() {
+        return Collections.unmodifiableMap(errors);
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getErrorCount() {
+        return errors.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Requests per second over the coordinator's wall clock, GO to the last result
+     */
+    public double getAchievedRatePerSecond() {
+        return requests / (elapsedMillis / 1000.0);
+    }
+
+    public void print(String label) {
+        System.out.printf("%n[LoadReport] %s: %d workers, target %,.0f req/s for %ds%n",
+                label, workers.size(), targetRatePerSecond, durationSeconds);
+        System.out.printf("  %-8s %12s %10s %10s %10s %10s %10s %8s%n",
+                "worker", "ids", "requests", "p50 ms", "p99 ms", "max ms", "req/s", "errors");
+        for (WorkerResult worker : workers) {
+            LatencyHistogram histogram = worker.getLatency();
+            System.out.printf("  %-8d %12s %,10d %10.2f %10.2f %10.2f %,10.0f %8d%n", worker.getWorkerId(),
+                    worker.getFirstId() + ".." + worker.getLastId(), worker.getRequests(),
+                    histogram.percentileMicros(50) / 1000.0, histogram.percentileMicros(99) / 1000.0,
+                    histogram.getMaxMicros() / 1000.0,
+                    worker.getRequests() / (worker.getElapsedMillis() / 1000.0), worker.errorCount());
+        }
+        StringBuilder percentiles = new StringBuilder();
+        for (double percentile : PERCENTILES) {
+            percentiles.append(String.format(" p%s=%.2f", format(percentile), latency.percentileMicros(percentile) / 1000.0));
+        }
+        System.out.printf("  merged: %,d requests, %,.0f req/s, mean %.2f ms,%s, max %.2f ms (ms from scheduled send)%n",
+                requests, getAchievedRatePerSecond(), latency.getMeanMicros() / 1000.0, percentiles,
+                latency.getMaxMicros() / 1000.0);
+        System.out.println("  errors: " + (errors.isEmpty() ? "none" : errors));
+    }
+
+    public void writeJson(Path file) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("targetRatePerSecond", targetRatePerSecond);
+        report.put("durationSeconds", durationSeconds);
+        report.put("elapsedMillis", elapsedMillis);
+        report.put("requests", requests);
+        report.put("achievedRatePerSecond", getAchievedRatePerSecond());
+        Map<String, Object> percentiles = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            percentiles.put("p" + format(percentile), latency.percentileMicros(percentile));
+        }
+        percentiles.put("max", latency.getMaxMicros());
+        report.put("latencyMicros", percentiles);
+        report.put("errors", errors);
+        report.put("workers", workers);
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+    }
+
+    private static String format(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
@@ -0,0 +1,166 @@
+package com.api.testing.load;
+
+import com.api.testing.client.ApiException;
+import com.api.testing.client.AsyncPostsClient;
+import com.api.testing.models.Post;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Worker JVM of a distributed load run, started by LoadCoordinator
+ * Protocol over stdio, one line each: the coordinator writes the WorkerPlan as JSON; the
+ * worker warms up its client, answers READY and waits for GO, so every worker starts its
+ * load at the same moment; it then runs the Posts scenarios (get, update, create, delete,
+ * round-robin) for its id range at the planned rate and answers RESULT followed by the
+ * WorkerResult as JSON. Anything else the worker prints goes to stderr.
+ */
+public class LoadWorker {
+
+    static final String READY = "READY";
+    static final String GO = "GO";
+    static final String RESULT_PREFIX = "RESULT ";
+
+    private static final int WARMUP_REQUESTS = 200;
+    private static final int SCENARIOS = 4;
+
+    private final WorkerPlan plan;
+    private final AsyncPostsClient client;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final BitSet usedIds = new BitSet();
+
+    LoadWorker(WorkerPlan plan) {
+        this.plan = plan;
+        this.client = new AsyncPostsClient(plan.getBaseUrl());
+    }
+
+    public static void main(String[] args) throws Exception {
+        // Keep stdout for the protocol only
+        PrintStream protocol = System.out;
+        System.setOut(System.err);
+
+        ObjectMapper mapper = new ObjectMapper();
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        WorkerPlan plan = mapper.readValue(readLine(in), WorkerPlan.class);
+        LoadWorker worker = new LoadWorker(plan);
+
+        worker.warmUp();
+        protocol.println(READY);
+        protocol.flush();
+        if (!GO.equals(readLine(in))) {
+            throw new IllegalStateException("Expected " + GO);
+        }
+
+        WorkerResult result = worker.run();
+        protocol.println(RESULT_PREFIX + mapper.writeValueAsString(result));
+        protocol.flush();
+        // The HttpClient's threads would otherwise keep the JVM alive until they idle out
+        System.exit(0);
+    }
+
+    private static String readLine(BufferedReader in) throws IOException {
+        String line = in.readLine();
+        if (line == null) {
+            throw new IOException("Coordinator closed the connection");
+        }
+        return line;
+    }
+
+    /**
+     * Opens connections and gets the request path compiled before the clock starts
+     */
+    void warmUp() throws Exception {
+        CompletableFuture<?>[] calls = new CompletableFuture<?>[WARMUP_REQUESTS];
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            calls[i] = client.getPostById(plan.getFirstId());
+        }
+        CompletableFuture.allOf(calls).get(60, TimeUnit.SECONDS);
+    }
+
+    WorkerResult run() throws InterruptedException {
+        int rangeSize = plan.getLastId() - plan.getFirstId() + 1;
+        long intervalNanos = (long) (1_000_000_000L / plan.getRatePerSecond());
+        long total = (long) (plan.getRatePerSecond() * plan.getDurationSeconds());
+        Semaphore inFlight = new Semaphore(plan.getMaxInFlight());
+
+        long start = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            // Open loop: request i is due at a fixed time whatever happened to earlier ones
+            long scheduled = start + i * intervalNanos;
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            inFlight.acquire();
+            int id = plan.getFirstId() + (int) (i / SCENARIOS % rangeSize);
+            usedIds.set(id - plan.getFirstId());
+            scenario((int) (i % SCENARIOS), id).whenComplete((ignored, error) -> {
+                latency.recordNanos(System.nanoTime() - scheduled);
+                if (error != null) {
+                    errors.computeIfAbsent(errorKind(error), kind -> new LongAdder()).increment();
+                }
+                inFlight.release();
+            });
+        }
+        inFlight.acquire(plan.getMaxInFlight());
+
+        WorkerResult result = new WorkerResult();
+        result.setWorkerId(plan.getWorkerId());
+        result.setFirstId(plan.getFirstId());
+        result.setLastId(plan.getLastId());
+        result.setRequests(total);
+        result.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        result.setDistinctIds(usedIds.cardinality());
+        Map<String, Long> errorCounts = new TreeMap<>();
+        errors.forEach((kind, count) -> errorCounts.put(kind, count.sum()));
+        result.setErrors(errorCounts);
+        result.setLatency(latency);
+        return result;
+    }
+
+    private CompletableFuture<?> scenario(int scenario, int id) {
+        Post post = new Post(id, "Post " + id, "Body of post " + id, id % 10 + 1);
+        switch (scenario) {
+            case 0:
+                return client.getPostById(id).thenAccept(response -> expectId(response, id));
+            case 1:
+                return client.updatePost(id, post).thenAccept(response -> expectId(response, id));
+            case 2:
+                return client.createPost(post).thenAccept(response -> expectId(response, id));
+            default:
+                return client.deletePost(id);
+        }
+    }
+
+    private static void expectId(Post response, int id) {
+        if (response.getId() == null || response.getId() != id) {
+            throw new IllegalStateException("Expected post " + id + " but got " + response.getId());
+        }
+    }
+
+    private static String errorKind(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof ApiException && ((ApiException) cause).getStatusCode() > 0) {
+            return "HTTP " + ((ApiException) cause).getStatusCode();
+        }
+        if (cause instanceof IllegalStateException) {
+            return "Unexpected response";
+        }
+        return cause.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,93 @@
+package com.api.testing.load;
+
+/**
+ * One worker's share of a distributed load run, sent by the coordinator as a JSON line
+ * The worker issues requests at ratePerSecond, open loop, for durationSeconds, cycling
+ * through Post ids firstId..lastId (inclusive); no other worker touches those ids.
+ */
+public class WorkerPlan {
+
+    private int workerId;
+    private String baseUrl;
+    private double ratePerSecond;
+    private long durationSeconds;
+    private int firstId;
+    private int lastId;
+    private int maxInFlight;
+
+    // Default constructor
+    public WorkerPlan() {}
+
+    public WorkerPlan(int workerId, String baseUrl, double ratePerSecond, long durationSeconds,
+                      int firstId, int lastId, int maxInFlight) {
+        this.workerId = workerId;
+        this.baseUrl = baseUrl;
+        this.ratePerSecond = ratePerSecond;
+        this.durationSeconds = durationSeconds;
+        this.firstId = firstId;
+        this.lastId = lastId;
+        this.maxInFlight = maxInFlight;
+    }
+
+    public int getWorkerId() {
+        return workerId;
+    }
+
+    public void setWorkerId(int workerId) {
+        this.workerId = workerId;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public void setBaseUrl(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    public void setRatePerSecond(double ratePerSecond) {
+        this.ratePerSecond = ratePerSecond;
+    }
+
+    public long getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public void setDurationSeconds(long durationSeconds) {
+        this.durationSeconds = durationSeconds;
+    }
+
+    public int getFirstId() {
+        return firstId;
+    }
+
+    public void setFirstId(int firstId) {
+        this.firstId = firstId;
+    }
+
+    public int getLastId() {
+        return lastId;
+    }
+
+    public void setLastId(int lastId) {
+        this.lastId = lastId;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    @Override
+    public String toString() {
+        return "WorkerPlan{workerId=" + workerId + ", ratePerSecond=" + ratePerSecond
+                + ", ids=" + firstId + ".." + lastId + "}";
+    }
+}
@@ -0,0 +1,96 @@
+package com.api.testing.load;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * What a worker reports back to the coordinator, as a JSON line
+ * Latencies are measured from each request's scheduled send time, not from when it was
+ * actually sent, so a worker falling behind its rate shows up as latency instead of
+ * silently lowering the load (no coordinated omission).
+ */
+public class WorkerResult {
+
+    private int workerId;
+    private int firstId;
+    private int lastId;
+    private long requests;
+    private long elapsedMillis;
+    private int distinctIds;
+    private Map<String, Long> errors = new TreeMap<>();
+    private LatencyHistogram latency = new LatencyHistogram();
+
+    // Default constructor
+    public WorkerResult() {}
+
+    public int getWorkerId() {
+        return workerId;
+    }
+
+    public void setWorkerId(int workerId) {
+        this.workerId = workerId;
+    }
+
+    public int getFirstId() {
+        return firstId;
+    }
+
+    public void setFirstId(int firstId) {
+        this.firstId = firstId;
+    }
+
+    public int getLastId() {
+        return lastId;
+    }
+
+    public void setLastId(int lastId) {
+        this.lastId = lastId;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public void setRequests(long requests) {
+        this.requests = requests;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public int getDistinctIds() {
+        return distinctIds;
+    }
+
+    public void setDistinctIds(int distinctIds) {
+        this.distinctIds = distinctIds;
+    }
+
+    /**
+     * Error count by kind, e.g. "HTTP 500" or "HttpTimeoutException"
+     */
+    public Map<String, Long> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(Map<String, Long> errors) {
+        this.errors = errors;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public void setLatency(LatencyHistogram latency) {
+        this.latency = latency;
+    }
+
+    public long errorCount() {
+        return errors.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
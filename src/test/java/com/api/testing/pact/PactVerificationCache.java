@@ -0,0 +1,566 @@
+package com.api.testing.pact;
+
+import au.com.dius.pact.consumer.ConsumerPactBuilder;
+import au.com.dius.pact.consumer.dsl.PactDslWithProvider;
+import au.com.dius.pact.consumer.junit5.PactTestFor;
+import au.com.dius.pact.core.model.Interaction;
+import au.com.dius.pact.core.model.PactSpecVersion;
+import au.com.dius.pact.core.model.RequestResponsePact;
+import au.com.dius.pact.core.model.annotations.Pact;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.TestWatcher;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Content-addressed cache of Pact consumer test results
+ * Before a test class declaring @Pact methods runs, each of them is invoked on a throw-away
+ * builder and the resulting interactions are hashed in canonical JSON form (the definition
+ * hash). The provider fixture is hashed as well: every @PactTestFor in effect, which sets up
+ * the mock provider, the bytecode of the class whose tests run against it and of its enclosing
+ * classes, and the bytecode of the project classes those reference, such as the models the
+ * consumer decodes into (the fixture hash). When both hashes match the last passing run, the
+ * class is skipped with its cached result, so neither the mock server nor the pact file writer
+ * runs. Any change, or a failure, makes it run again; only passing results are cached.
+ *
+ * PactConsumerTestExt fails a class that leaves any of its @Pact methods unexecuted, so the
+ * cache skips whole classes: give each interaction its own @Nested class to skip them one by
+ * one. A skipped interaction stays in the pact file from the run that verified it, as the
+ * writer merges into the existing file; unless every interaction of the class is still in
+ * that file (-Dpact.rootDir, default target/pacts), the class runs.
+ *
+ * After the test class the cache is written to target/pact-cache/<test class>.json and a
+ * report of what was skipped and the time saved to <test class>-report.json next to it
+ * (override the directory with -Dpact.cache.dir); -Dpact.cache.disabled=true re-verifies
+ * everything.
+ *
+ * Usage: @ExtendWith({PactVerificationCache.class, PactConsumerTestExt.class}), the cache first
+ * so that its afterAll runs last and sees whether the pact file was written
+ */
+public class PactVerificationCache implements ExecutionCondition, TestWatcher, AfterAllCallback {
+
+    static final String DISABLED_PROPERTY = "pact.cache.disabled";
+    static final String DIR_PROPERTY = "pact.cache.dir";
+
+    // Project classes, whether loaded from target/classes or, under -Dappcds, from jars
+    private static final String PROJECT_PACKAGE = "com/api/testing/";
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(PactVerificationCache.class);
+
+    private static final ObjectMapper CANONICAL = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        if (context.getTestMethod().isPresent() || context.getTestClass().isEmpty()) {
+            return ConditionEvaluationResult.enabled("Not a test class");
+        }
+        Class<?> testClass = context.getRequiredTestClass();
+        List<Method> pactMethods = pactMethods(testClass);
+        if (pactMethods.isEmpty()) {
+            return ConditionEvaluationResult.enabled("No @Pact methods in " + testClass.getSimpleName());
+        }
+        if (!pactMethods.stream().allMatch(PactVerificationCache::buildsRequestResponsePact)) {
+            return ConditionEvaluationResult.enabled("Only request/response pacts are cached");
+        }
+
+        Cache cache = cache(context);
+        Map<Method, RequestResponsePact> pacts = buildPacts(testClass);
+        String definitionHash = definitionHash(pacts);
+        String fixtureHash = fixtureHash(testClass);
+        Entry cached = cache.entries.get(testClass.getName());
+        if (!Boolean.getBoolean(DISABLED_PROPERTY) && cached != null
+                && cached.definitionHash.equals(definitionHash) && cached.fixtureHash.equals(fixtureHash)
+                && pactFilesContain(testClass, pacts)) {
+            cache.skipped(testClass.getName(), cached.durationMillis);
+            return ConditionEvaluationResult.disabled("Pacts of " + testClass.getSimpleName() + " unchanged: cached PASSED from "
+                    + cached.verifiedAt + " (" + cached.durationMillis + " ms saved)");
+        }
+        context.getStore(NAMESPACE).put(testClass, new Run(definitionHash, fixtureHash, System.nanoTime()));
+        return ConditionEvaluationResult.enabled("Pacts of " + testClass.getSimpleName() + (cached == null ? " not cached" : " changed"));
+    }
+
+    @Override
+    public void testSuccessful(ExtensionContext context) {
+        Run run = run(context);
+        if (run != null) {
+            run.passed++;
+        }
+    }
+
+    @Override
+    public void testFailed(ExtensionContext context, Throwable cause) {
+        Run run = run(context);
+        if (run != null) {
+            run.failed = true;
+        }
+    }
+
+    @Override
+    public void testAborted(ExtensionContext context, Throwable cause) {
+        testFailed(context, cause);
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) throws IOException {
+        Class<?> testClass = context.getRequiredTestClass();
+        Run run = context.getStore(NAMESPACE).remove(testClass, Run.class);
+        Cache cache = context.getStore(NAMESPACE).get(Cache.class, Cache.class);
+        if (run != null && cache != null) {
+            // A failing test, or PactConsumerTestExt failing to write the pact file, keeps it out of the cache
+            if (run.passed > 0 && !run.failed && context.getExecutionException().isEmpty()) {
+                cache.verified(testClass.getName(), run);
+            } else {
+                cache.entries.remove(testClass.getName());
+            }
+        }
+        if (cache != null && isTopLevel(context)) {
+            cache.write(testClass.getName());
+        }
+    }
+
+    /**
+     * SHA-256 of the interactions every @Pact method of the class builds, serialized as V3 pact
+     * JSON with sorted keys so that map ordering never changes the hash
+     */
+    static String definitionHash(Class<?> testClass) {
+        return definitionHash(buildPacts(testClass));
+    }
+
+    private static String definitionHash(Map<Method, RequestResponsePact> pacts) {
+        MessageDigest digest = sha256();
+        try {
+            for (Map.Entry<Method, RequestResponsePact> entry : pacts.entrySet()) {
+                RequestResponsePact pact = entry.getValue();
+                digest.update((entry.getKey().getName() + "\n" + pact.getConsumer().getName() + "\n"
+                        + pact.getProvider().getName() + "\n").getBytes(StandardCharsets.UTF_8));
+                for (Interaction interaction : pact.getInteractions()) {
+                    digest.update(CANONICAL.writeValueAsBytes(interaction.toMap(PactSpecVersion.V3)));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return hex(digest.digest());
+    }
+
+    /**
+     * Invokes every @Pact method of the class on a fresh builder, in name order
+     */
+    private static Map<Method, RequestResponsePact> buildPacts(Class<?> testClass) {
+        try {
+            Object instance = newInstance(testClass);
+            Map<Method, RequestResponsePact> pacts = new LinkedHashMap<>();
+            for (Method method : pactMethods(testClass)) {
+                Pact annotation = method.getAnnotation(Pact.class);
+                String consumer = annotation.consumer().isEmpty() ? "consumer" : annotation.consumer();
+                String provider = annotation.provider().isEmpty() ? "provider" : annotation.provider();
+                method.setAccessible(true);
+                pacts.put(method, (RequestResponsePact) method.invoke(instance,
+                        ConsumerPactBuilder.consumer(consumer).hasPactWith(provider)));
+            }
+            return pacts;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot build the pacts of " + testClass.getName() + " for hashing", e);
+        }
+    }
+
+    /**
+     * SHA-256 of the provider fixture: the settings of every @PactTestFor on the class, its
+     * enclosing classes and its tests, then the bytecode of fixtureClasses
+     */
+    static String fixtureHash(Class<?> testClass) {
+        return fixtureHash(testClass, element -> element.getAnnotation(PactTestFor.class));
+    }
+
+    /**
+     * fixtureHash reading each class's or method's @PactTestFor through settingsOf
+     */
+    static String fixtureHash(Class<?> testClass, Function<AnnotatedElement, PactTestFor> settingsOf) {
+        MessageDigest digest = sha256();
+        try {
+            for (Class<?> type = testClass; type != null; type = type.getEnclosingClass()) {
+                PactTestFor settings = settingsOf.apply(type);
+                if (settings != null) {
+                    digest.update(CANONICAL.writeValueAsBytes(settings(type.getName(), settings)));
+                }
+            }
+            Method[] methods = testClass.getDeclaredMethods();
+            Arrays.sort(methods, Comparator.comparing(Method::toGenericString));
+            for (Method method : methods) {
+                PactTestFor settings = settingsOf.apply(method);
+                if (settings != null) {
+                    digest.update(CANONICAL.writeValueAsBytes(settings(method.getName(), settings)));
+                }
+            }
+            for (String className : fixtureClasses(testClass)) {
+                digest.update((className + "\n").getBytes(StandardCharsets.UTF_8));
+                digest.update(bytecode(testClass.getClassLoader(), className));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return hex(digest.digest());
+    }
+
+    /**
+     * Internal names of the classes whose bytecode makes up the fixture: the test class, its
+     * enclosing classes, and every project class (under com.api.testing) their constant
+     * pools reference; library classes are versioned by the pom. Other classes nested in the same top-level class are left out,
+     * so editing one interaction's class never invalidates its siblings.
+     */
+    static List<String> fixtureClasses(Class<?> testClass) throws IOException {
+        ClassLoader loader = testClass.getClassLoader();
+        Set<String> enclosing = new LinkedHashSet<>();
+        Class<?> topLevel = testClass;
+        for (Class<?> type = testClass; type != null; type = type.getEnclosingClass()) {
+            enclosing.add(internalName(type));
+            topLevel = type;
+        }
+        String siblingPrefix = internalName(topLevel) + "$";
+        Set<String> referenced = new TreeSet<>();
+        for (String className : enclosing) {
+            for (String reference : referencedClasses(bytecode(loader, className))) {
+                if (reference.startsWith(PROJECT_PACKAGE) && !enclosing.contains(reference)
+                        && !reference.startsWith(siblingPrefix) && loader.getResource(reference + ".class") != null) {
+                    referenced.add(reference);
+                }
+            }
+        }
+        List<String> classes = new ArrayList<>(enclosing);
+        classes.addAll(referenced);
+        return classes;
+    }
+
+    /**
+     * Classes named by CONSTANT_Class entries of a class file, array types unwrapped
+     */
+    private static Set<String> referencedClasses(byte[] bytecode) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytecode));
+        in.skipBytes(8); // magic, minor and major version
+        int count = in.readUnsignedShort();
+        String[] utf8 = new String[count];
+        List<Integer> classNames = new ArrayList<>();
+        for (int i = 1; i < count; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1: // Utf8
+                    utf8[i] = in.readUTF();
+                    break;
+                case 7: // Class
+                    classNames.add(in.readUnsignedShort());
+                    break;
+                case 8: case 16: case 19: case 20: // String, MethodType, Module, Package
+                    in.skipBytes(2);
+                    break;
+                case 15: // MethodHandle
+                    in.skipBytes(3);
+                    break;
+                case 3: case 4: case 9: case 10: case 11: case 12: case 17: case 18:
+                    in.skipBytes(4);
+                    break;
+                case 5: case 6: // Long and Double take two slots
+                    in.skipBytes(8);
+                    i++;
+                    break;
+                default:
+                    throw new IOException("Unknown constant pool tag " + tag);
+            }
+        }
+        Set<String> classes = new TreeSet<>();
+        for (int index : classNames) {
+            String name = utf8[index].replaceFirst("^\\[+", "");
+            if (name.startsWith("L") && name.endsWith(";")) {
+                classes.add(name.substring(1, name.length() - 1));
+            } else if (!utf8[index].startsWith("[")) {
+                classes.add(name);
+            }
+        }
+        return classes;
+    }
+
+    private static byte[] bytecode(ClassLoader loader, String internalName) throws IOException {
+        try (InputStream in = loader.getResourceAsStream(internalName + ".class")) {
+            if (in == null) {
+                throw new IllegalStateException("No bytecode found for " + internalName.replace('/', '.'));
+            }
+            return in.readAllBytes();
+        }
+    }
+
+    private static String internalName(Class<?> type) {
+        return type.getName().replace('.', '/');
+    }
+
+    private static Map<String, Object> settings(String owner, PactTestFor settings) {
+        Map<String, Object> values = new TreeMap<>();
+        values.put("owner", owner);
+        values.put("providerName", settings.providerName());
+        values.put("hostInterface", settings.hostInterface());
+        values.put("port", settings.port());
+        values.put("pactVersion", String.valueOf(settings.pactVersion()));
+        values.put("pactMethod", settings.pactMethod());
+        values.put("pactMethods", List.of(settings.pactMethods()));
+        values.put("providerType", String.valueOf(settings.providerType()));
+        values.put("https", settings.https());
+        values.put("keyStorePath", settings.keyStorePath());
+        values.put("mockServerImplementation", String.valueOf(settings.mockServerImplementation()));
+        return values;
+    }
+
+    private static List<Method> pactMethods(Class<?> testClass) {
+        List<Method> methods = new ArrayList<>(
+                AnnotationSupport.findAnnotatedMethods(testClass, Pact.class, HierarchyTraversalMode.TOP_DOWN));
+        methods.sort(Comparator.comparing(Method::getName));
+        return methods;
+    }
+
+    private static boolean buildsRequestResponsePact(Method method) {
+        return RequestResponsePact.class.isAssignableFrom(method.getReturnType())
+                && Arrays.equals(method.getParameterTypes(), new Class<?>[] {PactDslWithProvider.class});
+    }
+
+    /**
+     * Whether the pact file every method contributes to still holds each of its interactions
+     * exactly as built now, so that skipping the class keeps them published
+     */
+    private static boolean pactFilesContain(Class<?> testClass, Map<Method, RequestResponsePact> pacts) {
+        Path pactDir = Paths.get(System.getProperty("pact.rootDir", "target/pacts"));
+        Map<Path, Set<JsonNode>> written = new HashMap<>();
+        for (Map.Entry<Method, RequestResponsePact> entry : pacts.entrySet()) {
+            Pact annotation = entry.getKey().getAnnotation(Pact.class);
+            String provider = annotation.provider();
+            for (Class<?> type = testClass; provider.isEmpty() && type != null; type = type.getEnclosingClass()) {
+                PactTestFor settings = type.getAnnotation(PactTestFor.class);
+                provider = settings != null ? settings.providerName() : "";
+            }
+            if (annotation.consumer().isEmpty() || provider.isEmpty()) {
+                return false;
+            }
+            Set<JsonNode> interactions = written.computeIfAbsent(
+                    pactDir.resolve(annotation.consumer() + "-" + provider + ".json"), PactVerificationCache::writtenInteractions);
+            try {
+                for (Interaction interaction : entry.getValue().getInteractions()) {
+                    // Round-tripped so numbers compare like the ones read back from the file
+                    if (!interactions.contains(CANONICAL.readTree(CANONICAL.writeValueAsBytes(interaction.toMap(PactSpecVersion.V3))))) {
+                        return false;
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Interactions of a pact file, or none when it is missing or unreadable
+     */
+    private static Set<JsonNode> writtenInteractions(Path pactFile) {
+        Set<JsonNode> interactions = new HashSet<>();
+        if (Files.isRegularFile(pactFile)) {
+            try {
+                CANONICAL.readTree(pactFile.toFile()).path("interactions").forEach(interactions::add);
+            } catch (IOException e) {
+                interactions.clear();
+            }
+        }
+        return interactions;
+    }
+
+    /**
+     * Cache of the whole top-level test class, shared with its nested classes
+     */
+    private static Cache cache(ExtensionContext context) {
+        ExtensionContext topLevel = context;
+        while (!isTopLevel(topLevel)) {
+            topLevel = topLevel.getParent().get();
+        }
+        Class<?> testClass = topLevel.getRequiredTestClass();
+        return topLevel.getStore(NAMESPACE).getOrComputeIfAbsent(Cache.class, key -> Cache.load(testClass), Cache.class);
+    }
+
+    private static Run run(ExtensionContext context) {
+        return context.getParent()
+                .map(parent -> parent.getStore(NAMESPACE).get(context.getRequiredTestClass(), Run.class))
+                .orElse(null);
+    }
+
+    private static boolean isTopLevel(ExtensionContext context) {
+        return context.getParent().flatMap(ExtensionContext::getTestClass).isEmpty();
+    }
+
+    private static Object newInstance(Class<?> type) throws ReflectiveOperationException {
+        if (type.isMemberClass() && !Modifier.isStatic(type.getModifiers())) {
+            Constructor<?> constructor = type.getDeclaredConstructor(type.getEnclosingClass());
+            constructor.setAccessible(true);
+            return constructor.newInstance(newInstance(type.getEnclosingClass()));
+        }
+        Constructor<?> constructor = type.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        return constructor.newInstance();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit(b >> 4 & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Hashes and progress of one test class being verified
+     */
+    private static final class Run {
+        private final String definitionHash;
+        private final String fixtureHash;
+        private final long startNanos;
+        private volatile int passed;
+        private volatile boolean failed;
+
+        private Run(String definitionHash, String fixtureHash, long startNanos) {
+            this.definitionHash = definitionHash;
+            this.fixtureHash = fixtureHash;
+            this.startNanos = startNanos;
+        }
+    }
+
+    /**
+     * Cached results of one top-level test class, and what this run skipped and verified
+     */
+    private static final class Cache {
+        private final Path file;
+        private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+        private final List<String> skipped = new ArrayList<>();
+        private final List<String> verified = new ArrayList<>();
+        private long savedMillis;
+
+        private Cache(Path file) {
+            this.file = file;
+        }
+
+        static Cache load(Class<?> testClass) {
+            Cache cache = new Cache(Paths.get(System.getProperty(DIR_PROPERTY, "target/pact-cache"))
+                    .resolve(testClass.getName() + ".json"));
+            if (Files.exists(cache.file)) {
+                try {
+                    Iterator<Map.Entry<String, JsonNode>> fields = CANONICAL.readTree(cache.file.toFile()).fields();
+                    while (fields.hasNext()) {
+                        Map.Entry<String, JsonNode> field = fields.next();
+                        cache.entries.put(field.getKey(), Entry.fromJson(field.getValue()));
+                    }
+                } catch (IOException | RuntimeException e) {
+                    // A corrupt or foreign cache only costs a full re-verification
+                    cache.entries.clear();
+                }
+            }
+            return cache;
+        }
+
+        synchronized void skipped(String testClass, long durationMillis) {
+            skipped.add(testClass);
+            savedMillis += durationMillis;
+        }
+
+        synchronized void verified(String testClass, Run run) {
+            long durationMillis = (System.nanoTime() - run.startNanos) / 1_000_000;
+            entries.put(testClass, new Entry(run.definitionHash, run.fixtureHash, durationMillis, Instant.now().toString()));
+            verified.add(testClass);
+        }
+
+        synchronized void write(String testClass) throws IOException {
+            ObjectNode root = CANONICAL.createObjectNode();
+            for (Map.Entry<String, Entry> entry : new TreeMap<>(entries).entrySet()) {
+                root.set(entry.getKey(), CANONICAL.valueToTree(entry.getValue().toMap()));
+            }
+            Files.createDirectories(file.getParent());
+            CANONICAL.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), root);
+
+            ObjectNode report = CANONICAL.createObjectNode();
+            report.put("testClass", testClass);
+            report.putPOJO("skipped", skipped);
+            report.putPOJO("verified", verified);
+            report.put("savedMillis", savedMillis);
+            CANONICAL.writerWithDefaultPrettyPrinter().writeValue(file.resolveSibling(testClass + "-report.json").toFile(), report);
+        }
+    }
+
+    /**
+     * Last passing verification of one test class
+     */
+    static final class Entry {
+        private final String definitionHash;
+        private final String fixtureHash;
+        private final long durationMillis;
+        private final String verifiedAt;
+
+        Entry(String definitionHash, String fixtureHash, long durationMillis, String verifiedAt) {
+            this.definitionHash = definitionHash;
+            this.fixtureHash = fixtureHash;
+            this.durationMillis = durationMillis;
+            this.verifiedAt = verifiedAt;
+        }
+
+        Map<String, Object> toMap() {
+            return Map.of(
+                    "definitionHash", definitionHash,
+                    "fixtureHash", fixtureHash,
+                    "result", "PASSED",
+                    "durationMillis", durationMillis,
+                    "verifiedAt", verifiedAt);
+        }
+
+        static Entry fromJson(JsonNode json) {
+            return new Entry(json.get("definitionHash").asText(), json.get("fixtureHash").asText(),
+                    json.get("durationMillis").asLong(), json.get("verifiedAt").asText());
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.api.testing.pact;
+
+import au.com.dius.pact.consumer.dsl.PactDslJsonBody;
+import au.com.dius.pact.consumer.dsl.PactDslWithProvider;
+import au.com.dius.pact.consumer.junit5.PactTestFor;
+import au.com.dius.pact.core.model.PactSpecVersion;
+import au.com.dius.pact.core.model.RequestResponsePact;
+import au.com.dius.pact.core.model.annotations.Pact;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.platform.testkit.engine.EngineExecutionResults;
+import org.junit.platform.testkit.engine.EngineTestKit;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+/**
+ * Tests for PactVerificationCache
+ * The hashing tests only build pacts, never serve them; the rerun test runs PostsPactTest
+ * in-process against a temporary cache directory
+ */
+public class PactVerificationCacheTest {
+
+    private static final List<Class<?>> POSTS_PACTS = List.of(
+            PostsPactTest.GetAllPosts.class, PostsPactTest.GetPostById.class, PostsPactTest.GetPostByIdNotFound.class,
+            PostsPactTest.CreatePost.class, PostsPactTest.UpdatePost.class, PostsPactTest.DeletePost.class);
+
+    @Test
+    void testDefinitionHashIsStable() {
+        // Act & Assert - every rebuild of the same definitions hashes the same
+        for (Class<?> pacts : POSTS_PACTS) {
+            assertEquals(PactVerificationCache.definitionHash(pacts),
+                    PactVerificationCache.definitionHash(pacts), pacts.getSimpleName());
+        }
+    }
+
+    @Test
+    void testEveryInteractionHashesDifferently() {
+        // Arrange
+        Set<String> hashes = new HashSet<>();
+
+        // Act
+        for (Class<?> pacts : POSTS_PACTS) {
+            hashes.add(PactVerificationCache.definitionHash(pacts));
+        }
+
+        // Assert
+        assertEquals(POSTS_PACTS.size(), hashes.size());
+    }
+
+    @Test
+    void testMatcherChangeChangesDefinitionHash() {
+        // Act
+        String original = PactVerificationCache.definitionHash(ById.class);
+        String reordered = PactVerificationCache.definitionHash(ByIdFieldsReordered.class);
+        String loosened = PactVerificationCache.definitionHash(ByIdTitleAnyType.class);
+
+        // Assert - field order is not a change, a different matcher is
+        assertEquals(original, reordered);
+        assertNotEquals(original, loosened);
+    }
+
+    @Test
+    void testFixtureHashCoversMockProviderSettings() {
+        // Arrange - the same class and bytecode, seen with either annotation
+        PactTestFor onV4 = V4MockProvider.class.getAnnotation(PactTestFor.class);
+
+        // Act
+        String v3 = PactVerificationCache.fixtureHash(ById.class, element -> element.getAnnotation(PactTestFor.class));
+        String v4 = PactVerificationCache.fixtureHash(ById.class,
+                element -> element == ById.class ? onV4 : element.getAnnotation(PactTestFor.class));
+
+        // Assert
+        assertEquals(PactVerificationCache.fixtureHash(ById.class), v3);
+        assertNotEquals(v3, v4);
+    }
+
+    @Test
+    void testFixtureCoversEnclosingAndConsumerClasses() throws Exception {
+        // Act
+        List<String> fixture = PactVerificationCache.fixtureClasses(PostsPactTest.GetAllPosts.class);
+
+        // Assert - the outer class holds the ObjectMapper, Post is what the test decodes into
+        assertTrue(fixture.contains("com/api/testing/pact/PostsPactTest$GetAllPosts"), fixture.toString());
+        assertTrue(fixture.contains("com/api/testing/pact/PostsPactTest"), fixture.toString());
+        assertTrue(fixture.contains("com/api/testing/models/Post"), fixture.toString());
+        assertFalse(fixture.contains("com/api/testing/pact/PostsPactTest$GetPostById"), "siblings stay independent");
+        assertFalse(fixture.contains("com/fasterxml/jackson/databind/ObjectMapper"), "library classes are versioned by the pom");
+    }
+
+    @Test
+    void testUnchangedInteractionsSkippedOnRerun(@TempDir Path cacheDir) throws Exception {
+        // Arrange
+        String previousDir = System.setProperty(PactVerificationCache.DIR_PROPERTY, cacheDir.toString());
+        try {
+            // Act - a first run verifies and caches every interaction
+            EngineExecutionResults first = runPostsPactTest();
+
+            // Assert
+            first.testEvents().assertStatistics(stats -> stats.started(POSTS_PACTS.size()).succeeded(POSTS_PACTS.size()).skipped(0));
+            JsonNode report = report(cacheDir);
+            assertEquals(POSTS_PACTS.size(), report.get("verified").size());
+            assertEquals(0, report.get("skipped").size());
+
+            // Act - an unchanged rerun starts no mock server at all
+            EngineExecutionResults second = runPostsPactTest();
+
+            // Assert - every nested class is skipped, and the pact file keeps their interactions
+            second.testEvents().assertStatistics(stats -> stats.started(0));
+            second.containerEvents().assertStatistics(stats -> stats.skipped(POSTS_PACTS.size()));
+            report = report(cacheDir);
+            assertEquals(POSTS_PACTS.size(), report.get("skipped").size());
+            assertEquals(0, report.get("verified").size());
+            Path pactPath = Paths.get(System.getProperty("pact.rootDir", "target/pacts")).resolve("PostsConsumer-JSONPlaceholder.json");
+            JsonNode pactFile = new ObjectMapper().readTree(pactPath.toFile());
+            assertEquals(POSTS_PACTS.size(), pactFile.get("interactions").size());
+
+            // Act - an interaction dropped from the pact file is verified again, on its own
+            ObjectNode edited = (ObjectNode) pactFile;
+            ArrayNode interactions = (ArrayNode) edited.get("interactions");
+            for (int i = 0; i < interactions.size(); i++) {
+                if ("a request for all posts".equals(interactions.get(i).get("description").asText())) {
+                    interactions.remove(i);
+                }
+            }
+            new ObjectMapper().writeValue(pactPath.toFile(), edited);
+            EngineExecutionResults afterEdit = runPostsPactTest();
+
+            // Assert
+            afterEdit.testEvents().assertStatistics(stats -> stats.started(1).succeeded(1));
+            assertEquals(List.of(PostsPactTest.GetAllPosts.class.getName()),
+                    new ObjectMapper().convertValue(report(cacheDir).get("verified"), List.class));
+
+            // Act - disabling the cache verifies everything again
+            System.setProperty(PactVerificationCache.DISABLED_PROPERTY, "true");
+            EngineExecutionResults third = runPostsPactTest();
+
+            // Assert
+            third.testEvents().assertStatistics(stats -> stats.started(POSTS_PACTS.size()).succeeded(POSTS_PACTS.size()));
+        } finally {
+            System.clearProperty(PactVerificationCache.DISABLED_PROPERTY);
+            if (previousDir == null) {
+                System.clearProperty(PactVerificationCache.DIR_PROPERTY);
+            } else {
+                System.setProperty(PactVerificationCache.DIR_PROPERTY, previousDir);
+            }
+        }
+    }
+
+    private static EngineExecutionResults runPostsPactTest() {
+        return EngineTestKit.engine("junit-jupiter")
+                .selectors(selectClass(PostsPactTest.class))
+                .execute();
+    }
+
+    private static JsonNode report(Path cacheDir) throws Exception {
+        return new ObjectMapper().readTree(cacheDir.resolve(PostsPactTest.class.getName() + "-report.json").toFile());
+    }
+
+    /**
+     * One interaction, then variations of it
+     */
+    @PactTestFor(providerName = "JSONPlaceholder", pactVersion = PactSpecVersion.V3)
+    public static class ById {
+
+        @Pact(consumer = "PostsConsumer", provider = "JSONPlaceholder")
+        public RequestResponsePact byId(PactDslWithProvider builder) {
+            return respondWith(builder, new PactDslJsonBody()
+                    .integerType("id", 1)
+                    .stringType("title", "Test Post Title"));
+        }
+    }
+
+    @PactTestFor(providerName = "JSONPlaceholder", pactVersion = PactSpecVersion.V4)
+    private static class V4MockProvider {
+    }
+
+    public static class ByIdFieldsReordered {
+
+        @Pact(consumer = "PostsConsumer", provider = "JSONPlaceholder")
+        public RequestResponsePact byId(PactDslWithProvider builder) {
+            return respondWith(builder, new PactDslJsonBody()
+                    .stringType("title", "Test Post Title")
+                    .integerType("id", 1));
+        }
+    }
+
+    public static class ByIdTitleAnyType {
+
+        @Pact(consumer = "PostsConsumer", provider = "JSONPlaceholder")
+        public RequestResponsePact byId(PactDslWithProvider builder) {
+            return respondWith(builder, new PactDslJsonBody()
+                    .integerType("id", 1)
+                    .stringValue("title", "Test Post Title"));
+        }
+    }
+
+    private static RequestResponsePact respondWith(PactDslWithProvider builder, PactDslJsonBody body) {
+        return builder
+                .given("post with id 1 exists")
+                .uponReceiving("a request for post with id 1")
+                .path("/posts/1")
+                .method("GET")
+                .willRespondWith()
+                .status(200)
+                .body(body)
+                .toPact();
+    }
+}
@@ -0,0 +1,168 @@
+package com.api.testing.soak;
+
+import com.api.testing.client.AsyncPostsClient;
+import com.api.testing.config.ApiConfig;
+import com.api.testing.models.Post;
+import com.api.testing.tests.TestUtils;
+import com.api.testing.wiremock.BoundedRequestJournal;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Soak test: sustained POST/GET load against WireMock with the bounded request journal
+ * Heap is sampled after a full GC while the load runs; after warm-up it must stay flat.
+ * WireMock's own journal is switched off, so only the bounded journal's summaries and 1%
+ * of bodies are retained. For contrast the same load is replayed against WireMock's
+ * default journal, which must still hold every request (skip with -Dsoak.compareUnbounded=false).
+ * Run with: mvn test -Psoak -Dtest=BoundedJournalSoak [-Dsoak.durationSeconds=60]
+ */
+public class BoundedJournalSoak {
+
+    private static final long DURATION_SECONDS = Long.getLong("soak.durationSeconds", 20);
+    private static final int JOURNAL_CAPACITY = 1_000;
+    private static final int MAX_IN_FLIGHT = 64;
+    private static final int SAMPLES = 10;
+    private static final long ALLOWED_GROWTH_BYTES = 24L * 1024 * 1024;
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+    @Test
+    void soakBoundedJournal() throws Exception {
+        BoundedRequestJournal journal = new BoundedRequestJournal(JOURNAL_CAPACITY, 0.01);
+        LoadResult result = runLoad(journal.applyTo(options().dynamicPort(), 0));
+
+        result.print("bounded journal (capacity " + JOURNAL_CAPACITY + ", 1% bodies)");
+
+        // Exact counts survive although only the last JOURNAL_CAPACITY requests are kept
+        journal.awaitTotalCount(result.sent.get());
+        assertEquals(0, result.errors.get());
+        assertEquals(result.sent.get(), journal.totalCount());
+        assertEquals(result.sent.get(), journal.countFor(result.createStub) + journal.countFor(result.getStub));
+        assertEquals(JOURNAL_CAPACITY, journal.recent().size());
+
+        long growth = result.growthAfterWarmup();
+        assertTrue(growth < ALLOWED_GROWTH_BYTES,
+                String.format("Heap grew by %,d bytes after warm-up (allowed %,d)", growth, ALLOWED_GROWTH_BYTES));
+    }
+
+    @Test
+    void soakDefaultJournalForComparison() throws Exception {
+        if (!Boolean.parseBoolean(System.getProperty("soak.compareUnbounded", "true"))) {
+            return;
+        }
+        LoadResult result = runLoad(options().dynamicPort());
+        result.print("default unbounded journal");
+
+        // Nothing is ever evicted, which is what the bounded journal prevents
+        assertEquals(0, result.errors.get());
+        assertEquals(result.sent.get(), result.retainedByWireMock);
+    }
+
+    private LoadResult runLoad(WireMockConfiguration options) throws Exception {
+        WireMockServer server = new WireMockServer(options);
+        server.start();
+        try {
+            LoadResult result = new LoadResult();
+            Post createdPost = new Post(101, "New Post Title", "New Post Body", 1);
+            result.createStub = server.stubFor(post(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                    .willReturn(aResponse()
+                            .withStatus(ApiConfig.HTTP_CREATED)
+                            .withHeader("Content-Type", "application/json")
+                            .withBody(TestUtils.toJson(createdPost))));
+            result.getStub = server.stubFor(get(urlEqualTo(ApiConfig.POSTS_ENDPOINT + "/101"))
+                    .willReturn(aResponse()
+                            .withStatus(ApiConfig.HTTP_OK)
+                            .withHeader("Content-Type", "application/json")
+                            .withBody(TestUtils.toJson(createdPost))));
+
+            AsyncPostsClient client = new AsyncPostsClient("http://localhost:" + server.port());
+            // ~2 KB bodies make journal retention visible quickly
+            Post newPost = new Post(null, "New Post Title", "x".repeat(2048), 1);
+
+            Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+            long start = System.nanoTime();
+            long durationNanos = TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+            long sampleEvery = durationNanos / SAMPLES;
+            long nextSample = start + sampleEvery;
+            long i = 0;
+            while (System.nanoTime() - start < durationNanos) {
+                inFlight.acquire();
+                result.sent.incrementAndGet();
+                (i++ % 2 == 0 ? client.createPost(newPost) : client.getPostById(101))
+                        .whenComplete((post, error) -> {
+                            if (error != null) {
+                                result.errors.incrementAndGet();
+                            }
+                            inFlight.release();
+                        });
+                if (System.nanoTime() >= nextSample) {
+                    result.heapSamples.add(usedHeapAfterGc());
+                    nextSample += sampleEvery;
+                }
+            }
+            inFlight.acquire(MAX_IN_FLIGHT);
+            result.heapSamples.add(usedHeapAfterGc());
+            if (!options.requestJournalDisabled()) {
+                result.retainedByWireMock = server.getAllServeEvents().size();
+            }
+            return result;
+        } finally {
+            server.stop();
+        }
+    }
+
+    private long usedHeapAfterGc() {
+        System.gc();
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static final class LoadResult {
+        private final AtomicLong sent = new AtomicLong();
+        private final AtomicLong errors = new AtomicLong();
+        private final List<Long> heapSamples = new ArrayList<>();
+        private StubMapping createStub;
+        private StubMapping getStub;
+        private long retainedByWireMock;
+
+        /**
+         * Heap growth from the end of the first quarter of the run to the end
+         * The end is the lowest of the last three samples: in-flight garbage only ever
+         * inflates a sample, while retained objects show up in all of them
+         */
+        long growthAfterWarmup() {
+            int last = heapSamples.size() - 1;
+            long baseline = heapSamples.get(Math.min(last, SAMPLES / 4));
+            long end = Long.MAX_VALUE;
+            for (int i = Math.max(0, last - 2); i <= last; i++) {
+                end = Math.min(end, heapSamples.get(i));
+            }
+            return end - baseline;
+        }
+
+        void print(String label) {
+            System.out.printf("%n[BoundedJournalSoak] %s: %,d requests in %ds, %d errors%n",
+                    label, sent.get(), DURATION_SECONDS, errors.get());
+            StringBuilder samples = new StringBuilder("  used heap after GC (MB):");
+            for (long sample : heapSamples) {
+                samples.append(String.format(" %.1f", sample / 1024.0 / 1024.0));
+            }
+            System.out.println(samples);
+            System.out.printf("  growth after warm-up: %.1f MB, %,d requests in WireMock's journal%n",
+                    growthAfterWarmup() / 1024.0 / 1024.0, retainedByWireMock);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.api.testing.soak;
+
+import com.api.testing.client.ApiException;
+import com.api.testing.client.AsyncPostsClient;
+import com.api.testing.config.ApiConfig;
+import com.api.testing.models.Post;
+import com.api.testing.tests.TestUtils;
+import com.api.testing.wiremock.BoundedRequestJournal;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Soak test: the CRUD scenarios of PostsWireMockTest, run continuously through AsyncPostsClient
+ * The six scenarios (list, get, get missing, create, update, delete) are issued round-robin
+ * against a local WireMock, with up to soak.maxInFlight requests in flight, for
+ * soak.durationSeconds. SoakMonitor samples heap, threads and open file descriptors every
+ * soak.sampleSeconds and records JFR meanwhile; the test fails on a heap, thread or
+ * connection leak, a long GC pause or any failed scenario, naming the kept JFR file.
+ * WireMock runs with the bounded request journal so the mock's own memory stays flat.
+ * Run with: mvn test -Psoak -Dtest=PostsCrudSoak [-Dsoak.durationSeconds=3600]
+ */
+public class PostsCrudSoak {
+
+    private static final long DURATION_SECONDS = Long.getLong("soak.durationSeconds", 20);
+    private static final long SAMPLE_MILLIS = Long.getLong("soak.sampleSeconds",
+            Math.max(1, DURATION_SECONDS / 10)) * 1000;
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("soak.maxInFlight", 32);
+    private static final int SCENARIOS = 6;
+    private static final int MISSING_POST_ID = 999;
+
+    @Test
+    void soakCrudScenarios() throws Exception {
+        BoundedRequestJournal journal = new BoundedRequestJournal(1_000, 0.0);
+        WireMockServer server = new WireMockServer(journal.applyTo(options().dynamicPort()));
+        server.start();
+        AtomicLong completed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        AtomicReference<Throwable> firstFailure = new AtomicReference<>();
+
+        try (SoakMonitor monitor = new SoakMonitor("PostsCrudSoak", Duration.ofMillis(SAMPLE_MILLIS),
+                Duration.ofSeconds(DURATION_SECONDS).dividedBy(4), completed::get)) {
+            stubCrudScenarios(server);
+            AsyncPostsClient client = new AsyncPostsClient("http://localhost:" + server.port());
+            Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+
+            monitor.start();
+            long start = System.nanoTime();
+            long durationNanos = TimeUnit.SECONDS.toNanos(DURATION_SECONDS);
+            for (long i = 0; System.nanoTime() - start < durationNanos; i++) {
+                inFlight.acquire();
+                scenario(client, (int) (i % SCENARIOS)).whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        failed.incrementAndGet();
+                        firstFailure.compareAndSet(null, error);
+                    }
+                    completed.incrementAndGet();
+                    inFlight.release();
+                });
+            }
+            inFlight.acquire(MAX_IN_FLIGHT);
+
+            SoakMonitor.Report report = monitor.finish();
+            report.print(String.format("CRUD scenarios, %,d requests in %ds, %d failed",
+                    completed.get(), DURATION_SECONDS, failed.get()));
+
+            assertEquals(0, failed.get(), () -> "Scenarios failed, first: " + firstFailure.get());
+            assertEquals(completed.get(), journal.awaitTotalCount(completed.get()));
+            assertTrue(report.passed(), report::failureMessage);
+        } finally {
+            server.stop();
+        }
+    }
+
+    /**
+     * Runs one scenario and checks its result as PostsWireMockTest does
+     */
+    private static CompletableFuture<?> scenario(AsyncPostsClient client, int scenario) {
+        switch (scenario) {
+            case 0:
+                return client.getAllPosts().thenAccept(posts -> {
+                    check(posts.size() == 2 && "Test Post 1".equals(posts.get(0).getTitle()), "list", posts);
+                });
+            case 1:
+                return client.getPostById(ApiConfig.TEST_POST_ID).thenAccept(post -> {
+                    check(ApiConfig.TEST_POST_TITLE.equals(post.getTitle()), "get", post);
+                });
+            case 2:
+                return client.getPostById(MISSING_POST_ID).handle((post, error) -> {
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    if (!(cause instanceof ApiException) || ((ApiException) cause).getStatusCode() != ApiConfig.HTTP_NOT_FOUND) {
+                        throw new IllegalStateException("get missing: expected 404, got " + (cause != null ? cause : post));
+                    }
+                    return null;
+                });
+            case 3:
+                return client.createPost(new Post(null, "New Post Title", "New Post Body", 1)).thenAccept(post -> {
+                    check(Integer.valueOf(101).equals(post.getId()), "create", post);
+                });
+            case 4:
+                return client.updatePost(ApiConfig.TEST_POST_ID, updatedPost()).thenAccept(post -> {
+                    check("Updated Title".equals(post.getTitle()), "update", post);
+                });
+            default:
+                return client.deletePost(ApiConfig.TEST_POST_ID);
+        }
+    }
+
+    private static void check(boolean condition, String scenario, Object actual) {
+        if (!condition) {
+            throw new IllegalStateException(scenario + ": unexpected response " + actual);
+        }
+    }
+
+    private static Post updatedPost() {
+        return new Post(ApiConfig.TEST_POST_ID, "Updated Title", "Updated Body", ApiConfig.TEST_USER_ID);
+    }
+
+    private static void stubCrudScenarios(WireMockServer server) throws Exception {
+        List<Post> posts = List.of(
+                new Post(1, "Test Post 1", "Body of test post 1", 1),
+                new Post(2, "Test Post 2", "Body of test post 2", 2));
+        String postPath = ApiConfig.POSTS_ENDPOINT + "/" + ApiConfig.TEST_POST_ID;
+
+        server.stubFor(get(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .willReturn(okJson(TestUtils.toJson(posts))));
+        server.stubFor(get(urlEqualTo(postPath))
+                .willReturn(okJson(TestUtils.toJson(new Post(ApiConfig.TEST_POST_ID, ApiConfig.TEST_POST_TITLE,
+                        ApiConfig.TEST_POST_BODY, ApiConfig.TEST_USER_ID)))));
+        server.stubFor(get(urlEqualTo(ApiConfig.POSTS_ENDPOINT + "/" + MISSING_POST_ID))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_NOT_FOUND)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{}")));
+        server.stubFor(post(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_CREATED)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(TestUtils.toJson(new Post(101, "New Post Title", "New Post Body", 1)))));
+        server.stubFor(put(urlEqualTo(postPath))
+                .willReturn(okJson(TestUtils.toJson(updatedPost()))));
+        server.stubFor(delete(urlEqualTo(postPath))
+                .willReturn(okJson("{}")));
+    }
+}
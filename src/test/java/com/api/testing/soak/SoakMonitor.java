@@ -0,0 +1,358 @@
+package com.api.testing.soak;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Heap, GC, thread and file descriptor monitor for soak runs
+ * While started, a JFR recording runs (default settings plus old-object sampling with
+ * paths to GC roots, so a leak shows what retains it) and a sampler thread records, every
+ * interval, used heap, live threads and open file descriptors (sockets included; Unix only)
+ * through JMX. Only two samples force a full GC, so the JVM's own collections are left
+ * alone: the baseline, the first sample after warm-up, and the last one, taken by finish()
+ * once the load has drained. finish() then checks:
+ * <ul>
+ *   <li>heap: live heap grew from the baseline to the end by more than the allowance</li>
+ *   <li>threads and file descriptors: ended more than the allowance above the baseline,
+ *       the usual sign of leaked executors or connections</li>
+ *   <li>GC: a collection paused longer than allowed; the monitor's own System.gc() calls
+ *       are left out</li>
+ * </ul>
+ * On any violation the recording is kept in target/soak and its path is part of the report;
+ * otherwise it is deleted.
+ *
+ * Thresholds come from system properties: soak.maxHeapGrowthMb (16), soak.maxThreadGrowth (8),
+ * soak.maxFdGrowth (32), soak.maxGcPauseMillis (250).
+ */
+public class SoakMonitor implements AutoCloseable {
+
+    private static final String SYSTEM_GC_CAUSE = "System.gc()";
+
+    private final String name;
+    private final long intervalMillis;
+    private final long warmupMillis;
+    private final LongSupplier completedRequests;
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    private final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+    private final List<Sample> samples = Collections.synchronizedList(new ArrayList<>());
+    private final long maxHeapGrowthBytes;
+    private final int maxThreadGrowth;
+    private final int maxFdGrowth;
+    private final long maxGcPauseMillis;
+
+    private Recording recording;
+    private ScheduledExecutorService sampler;
+    private long startNanos;
+    private boolean baselineTaken;
+
+    /**
+     * @param name              used for the recording file name
+     * @param interval          time between samples
+     * @param warmup            time before the baseline sample; growth is measured from there
+     * @param completedRequests requests finished so far, logged with each sample
+     */
+    public SoakMonitor(String name, Duration interval, Duration warmup, LongSupplier completedRequests) {
+        this(name, interval, warmup, completedRequests, Long.getLong("soak.maxHeapGrowthMb", 16) * 1024 * 1024,
+                Integer.getInteger("soak.maxThreadGrowth", 8), Integer.getInteger("soak.maxFdGrowth", 32),
+                Long.getLong("soak.maxGcPauseMillis", 250));
+    }
+
+    SoakMonitor(String name, Duration interval, Duration warmup, LongSupplier completedRequests,
+                long maxHeapGrowthBytes, int maxThreadGrowth, int maxFdGrowth, long maxGcPauseMillis) {
+        this.name = name;
+        this.intervalMillis = interval.toMillis();
+        this.warmupMillis = warmup.toMillis();
+        this.completedRequests = completedRequests;
+        this.maxHeapGrowthBytes = maxHeapGrowthBytes;
+        this.maxThreadGrowth = maxThreadGrowth;
+        this.maxFdGrowth = maxFdGrowth;
+        this.maxGcPauseMillis = maxGcPauseMillis;
+    }
+
+    public void start() throws IOException {
+        try {
+            recording = new Recording(Configuration.getConfiguration("default"));
+        } catch (ParseException e) {
+            throw new IOException("Cannot read the JFR default settings", e);
+        }
+        recording.setName(name);
+        recording.enable("jdk.OldObjectSample").with("cutoff", "infinity");
+        recording.setMaxSize(256L * 1024 * 1024);
+        recording.start();
+
+        startNanos = System.nanoTime();
+        sampler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "soak-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sampler.scheduleAtFixedRate(this::scheduledSample, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops sampling and recording, takes a last sample and checks every threshold
+     * Call once the load has drained, so in-flight requests don't count as leaks.
+     */
+    public Report finish() throws IOException, InterruptedException {
+        sampler.shutdown();
+        sampler.awaitTermination(1, TimeUnit.MINUTES);
+        sample(true);
+        recording.stop();
+
+        Path file = Paths.get("target", "soak", name + "-" + System.currentTimeMillis() + ".jfr");
+        Files.createDirectories(file.getParent());
+        recording.dump(file);
+        List<Sample> taken;
+        synchronized (samples) {
+            taken = new ArrayList<>(samples);
+        }
+        Report report = analyze(taken, gcPauses(file), file);
+        if (report.passed()) {
+            Files.delete(file);
+        }
+        return report;
+    }
+
+    @Override
+    public void close() {
+        if (sampler != null) {
+            sampler.shutdownNow();
+        }
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    private void scheduledSample() {
+        boolean baseline = !baselineTaken && (System.nanoTime() - startNanos) / 1_000_000 >= warmupMillis;
+        baselineTaken |= baseline;
+        sample(baseline);
+    }
+
+    private void sample(boolean afterFullGc) {
+        if (afterFullGc) {
+            System.gc();
+        }
+        samples.add(new Sample((System.nanoTime() - startNanos) / 1_000_000, completedRequests.getAsLong(),
+                memory.getHeapMemoryUsage().getUsed(), afterFullGc, threads.getThreadCount(), openFileDescriptors(),
+                threadGroups()));
+    }
+
+    private long openFileDescriptors() {
+        if (os instanceof com.sun.management.UnixOperatingSystemMXBean) {
+            return ((com.sun.management.UnixOperatingSystemMXBean) os).getOpenFileDescriptorCount();
+        }
+        return -1;
+    }
+
+    /**
+     * Live threads by name with digits stripped, e.g. HttpClient-#-Worker-# -> count
+     */
+    private static Map<String, Integer> threadGroups() {
+        Map<String, Integer> groups = new TreeMap<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            groups.merge(thread.getName().replaceAll("\\d+", "#"), 1, Integer::sum);
+        }
+        return groups;
+    }
+
+    /**
+     * Checks every threshold on the samples, the last of which finish() took after a full GC,
+     * and on the GC pauses of the run
+     */
+    Report analyze(List<Sample> taken, List<GcPause> pauses, Path file) {
+        Report report = new Report(taken, file);
+        Sample last = taken.isEmpty() ? null : taken.get(taken.size() - 1);
+        Sample baseline = baseline(taken);
+        if (baseline == null || !last.afterFullGc) {
+            report.violations.add("No baseline sample after the " + warmupMillis + " ms warm-up; run longer than"
+                    + " the warm-up plus one sample interval");
+            return report;
+        }
+
+        // Both taken after a full GC with no load in flight at the end, so only retained objects remain
+        report.heapGrowthBytes = last.heapUsed - baseline.heapUsed;
+        if (report.heapGrowthBytes > maxHeapGrowthBytes) {
+            double minutes = Math.max(1, last.elapsedMillis - baseline.elapsedMillis) / 60_000.0;
+            report.violations.add(String.format("Live heap grew by %,d bytes after warm-up, %,.0f bytes/min "
+                    + "(allowed %,d bytes)", report.heapGrowthBytes, report.heapGrowthBytes / minutes, maxHeapGrowthBytes));
+        }
+
+        report.threadGrowth = last.threads - baseline.threads;
+        if (report.threadGrowth > maxThreadGrowth) {
+            StringBuilder grown = new StringBuilder();
+            last.threadGroups.forEach((group, count) -> {
+                int before = baseline.threadGroups.getOrDefault(group, 0);
+                if (count > before) {
+                    grown.append(String.format("%n    %s: %d -> %d", group, before, count));
+                }
+            });
+            report.violations.add(String.format("Thread count grew from %d to %d (allowed +%d):%s",
+                    baseline.threads, last.threads, maxThreadGrowth, grown));
+        }
+
+        if (baseline.openFds >= 0) {
+            report.fdGrowth = last.openFds - baseline.openFds;
+            if (report.fdGrowth > maxFdGrowth) {
+                report.violations.add(String.format("Open file descriptors grew from %d to %d (allowed +%d); "
+                        + "connections or streams are not being closed", baseline.openFds, last.openFds, maxFdGrowth));
+            }
+        }
+
+        for (GcPause pause : pauses) {
+            if (SYSTEM_GC_CAUSE.equals(pause.cause)) {
+                continue;
+            }
+            report.gcCount++;
+            if (pause.longestPauseMillis > report.maxGcPauseMillis) {
+                report.maxGcPauseMillis = pause.longestPauseMillis;
+                report.maxGcPauseName = pause.name + " (" + pause.cause + ")";
+            }
+        }
+        if (report.maxGcPauseMillis > maxGcPauseMillis) {
+            report.violations.add(String.format("GC pause of %d ms in %s (allowed %d ms)",
+                    report.maxGcPauseMillis, report.maxGcPauseName, maxGcPauseMillis));
+        }
+        return report;
+    }
+
+    /**
+     * First full-GC sample before the last one, or null
+     */
+    private static Sample baseline(List<Sample> taken) {
+        for (int i = 0; i < taken.size() - 1; i++) {
+            if (taken.get(i).afterFullGc) {
+                return taken.get(i);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * GC events of the recording, streamed one at a time as it can be hundreds of megabytes
+     */
+    private static List<GcPause> gcPauses(Path file) throws IOException {
+        List<GcPause> pauses = new ArrayList<>();
+        try (RecordingFile recordingFile = new RecordingFile(file)) {
+            while (recordingFile.hasMoreEvents()) {
+                RecordedEvent event = recordingFile.readEvent();
+                if ("jdk.GarbageCollection".equals(event.getEventType().getName())) {
+                    pauses.add(new GcPause(event.getString("name"), event.getString("cause"),
+                            event.getDuration("longestPause").toMillis()));
+                }
+            }
+        }
+        return pauses;
+    }
+
+    /**
+     * One JMX sample; openFds is -1 where the OS doesn't report it, threadGroups names the threads
+     * heapUsed is live heap only when afterFullGc, otherwise it includes garbage not yet collected
+     */
+    static final class Sample {
+        private final long elapsedMillis;
+        private final long requests;
+        private final long heapUsed;
+        private final boolean afterFullGc;
+        private final int threads;
+        private final long openFds;
+        private final Map<String, Integer> threadGroups;
+
+        Sample(long elapsedMillis, long requests, long heapUsed, boolean afterFullGc, int threads, long openFds,
+               Map<String, Integer> threadGroups) {
+            this.elapsedMillis = elapsedMillis;
+            this.requests = requests;
+            this.heapUsed = heapUsed;
+            this.afterFullGc = afterFullGc;
+            this.threads = threads;
+            this.openFds = openFds;
+            this.threadGroups = threadGroups;
+        }
+    }
+
+    /**
+     * One jdk.GarbageCollection event: collector name, cause and longest pause
+     */
+    static final class GcPause {
+        private final String name;
+        private final String cause;
+        private final long longestPauseMillis;
+
+        GcPause(String name, String cause, long longestPauseMillis) {
+            this.name = name;
+            this.cause = cause;
+            this.longestPauseMillis = longestPauseMillis;
+        }
+    }
+
+    /**
+     * Samples, GC summary and threshold violations of one soak run
+     */
+    public static final class Report {
+        private final List<Sample> samples;
+        private final Path recordingFile;
+        private final List<String> violations = new ArrayList<>();
+        private long heapGrowthBytes;
+        private int threadGrowth;
+        private long fdGrowth;
+        private int gcCount;
+        private long maxGcPauseMillis;
+        private String maxGcPauseName = "-";
+
+        private Report(List<Sample> samples, Path recordingFile) {
+            this.samples = samples;
+            this.recordingFile = recordingFile;
+        }
+
+        public boolean passed() {
+            return violations.isEmpty();
+        }
+
+        public List<String> violations() {
+            return Collections.unmodifiableList(violations);
+        }
+
+        public String failureMessage() {
+            return String.join("\n", violations) + "\nJFR recording: " + recordingFile.toAbsolutePath();
+        }
+
+        public void print(String label) {
+            System.out.printf("%n[SoakMonitor] %s: %d samples, %d GCs (max pause %d ms)%n",
+                    label, samples.size(), gcCount, maxGcPauseMillis);
+            System.out.println("   elapsed(s)   requests       used heap (MB)   threads   open fds");
+            for (Sample sample : samples) {
+                System.out.printf("  %10.1f %10d %20.1f %9d %10d%s%n", sample.elapsedMillis / 1000.0,
+                        sample.requests, sample.heapUsed / 1024.0 / 1024.0, sample.threads, sample.openFds,
+                        sample.afterFullGc ? "   after full GC" : "");
+            }
+            System.out.printf("  after warm-up: heap %+.1f MB, threads %+d, open fds %+d%n",
+                    heapGrowthBytes / 1024.0 / 1024.0, threadGrowth, fdGrowth);
+            if (!passed()) {
+                System.out.println("  FAILED: " + failureMessage().replace("\n", "\n  "));
+            }
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.api.testing.soak;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the SoakMonitor thresholds, on hand-made samples and GC pauses
+ */
+public class SoakMonitorTest {
+
+    private static final long MB = 1024 * 1024;
+    private static final Path RECORDING = Paths.get("target", "soak", "test.jfr");
+
+    // 16 MB heap growth, +8 threads, +32 fds, 250 ms pauses
+    private final SoakMonitor monitor = new SoakMonitor("test", Duration.ofSeconds(1), Duration.ofSeconds(2),
+            () -> 0, 16 * MB, 8, 32, 250);
+
+    @Test
+    void testSteadyRunPasses() {
+        // Arrange - garbage between the two full GCs is not growth
+        List<SoakMonitor.Sample> samples = List.of(
+                sample(1, 90 * MB, false, 20, 40),
+                sample(2, 50 * MB, true, 20, 40),
+                sample(3, 120 * MB, false, 24, 52),
+                sample(4, 58 * MB, true, 22, 45));
+
+        // Act
+        SoakMonitor.Report report = monitor.analyze(samples, List.of(), RECORDING);
+
+        // Assert
+        assertTrue(report.passed(), report::failureMessage);
+    }
+
+    @Test
+    void testHeapGrowthBeyondAllowanceFails() {
+        // Arrange
+        List<SoakMonitor.Sample> samples = List.of(
+                sample(2, 50 * MB, true, 20, 40),
+                sample(3, 60 * MB, false, 20, 40),
+                sample(62, 70 * MB, true, 20, 40));
+
+        // Act
+        SoakMonitor.Report report = monitor.analyze(samples, List.of(), RECORDING);
+
+        // Assert
+        assertEquals(1, report.violations().size());
+        assertTrue(report.violations().get(0).startsWith("Live heap grew by 20,971,520 bytes"), report.violations().get(0));
+        assertTrue(report.violations().get(0).contains("20,971,520 bytes/min"), report.violations().get(0));
+    }
+
+    @Test
+    void testWarmupSamplesAreNotTheBaseline() {
+        // Arrange - the heap filled up during warm-up, then stayed flat
+        List<SoakMonitor.Sample> samples = List.of(
+                sample(1, 10 * MB, false, 10, 20),
+                sample(2, 80 * MB, true, 20, 40),
+                sample(3, 80 * MB, true, 20, 40));
+
+        // Act & Assert
+        assertTrue(monitor.analyze(samples, List.of(), RECORDING).passed());
+    }
+
+    @Test
+    void testThreadGrowthNamesTheGrowingPool() {
+        // Arrange
+        List<SoakMonitor.Sample> samples = List.of(
+                sample(2, 50 * MB, true, 20, 40, Map.of("main", 1, "HttpClient-#-Worker-#", 2)),
+                sample(3, 50 * MB, true, 29, 40, Map.of("main", 1, "HttpClient-#-Worker-#", 11)));
+
+        // Act
+        SoakMonitor.Report report = monitor.analyze(samples, List.of(), RECORDING);
+
+        // Assert
+        assertEquals(1, report.violations().size());
+        assertTrue(report.violations().get(0).startsWith("Thread count grew from 20 to 29 (allowed +8)"));
+        assertTrue(report.violations().get(0).contains("HttpClient-#-Worker-#: 2 -> 11"));
+        assertFalse(report.violations().get(0).contains("main"));
+    }
+
+    @Test
+    void testFileDescriptorGrowth() {
+        // Arrange
+        List<SoakMonitor.Sample> leaking = List.of(sample(2, 50 * MB, true, 20, 40), sample(3, 50 * MB, true, 20, 73));
+        List<SoakMonitor.Sample> withinAllowance = List.of(sample(2, 50 * MB, true, 20, 40), sample(3, 50 * MB, true, 20, 72));
+        List<SoakMonitor.Sample> unsupported = List.of(sample(2, 50 * MB, true, 20, -1), sample(3, 50 * MB, true, 20, -1));
+
+        // Act & Assert
+        List<String> violations = monitor.analyze(leaking, List.of(), RECORDING).violations();
+        assertEquals(1, violations.size());
+        assertTrue(violations.get(0).startsWith("Open file descriptors grew from 40 to 73"));
+        assertTrue(monitor.analyze(withinAllowance, List.of(), RECORDING).passed());
+        assertTrue(monitor.analyze(unsupported, List.of(), RECORDING).passed());
+    }
+
+    @Test
+    void testGcPauseLimitIgnoresForcedCollections() {
+        // Arrange
+        List<SoakMonitor.Sample> samples = List.of(sample(2, 50 * MB, true, 20, 40), sample(3, 50 * MB, true, 20, 40));
+        List<SoakMonitor.GcPause> forcedOnly = List.of(
+                new SoakMonitor.GcPause("G1Full", "System.gc()", 900),
+                new SoakMonitor.GcPause("G1New", "G1 Evacuation Pause", 250));
+        List<SoakMonitor.GcPause> tooLong = List.of(
+                new SoakMonitor.GcPause("G1New", "G1 Evacuation Pause", 12),
+                new SoakMonitor.GcPause("G1Old", "G1 Humongous Allocation", 251));
+
+        // Act & Assert - the monitor's own full GCs never count, a pause at the limit is allowed
+        assertTrue(monitor.analyze(samples, forcedOnly, RECORDING).passed());
+        List<String> violations = monitor.analyze(samples, tooLong, RECORDING).violations();
+        assertEquals(List.of("GC pause of 251 ms in G1Old (G1 Humongous Allocation) (allowed 250 ms)"), violations);
+    }
+
+    @Test
+    void testRunShorterThanWarmupFails() {
+        // Arrange - finish() took the only full-GC sample
+        List<SoakMonitor.Sample> samples = List.of(sample(1, 50 * MB, false, 20, 40), sample(1, 50 * MB, true, 20, 40));
+
+        // Act
+        SoakMonitor.Report report = monitor.analyze(samples, List.of(), RECORDING);
+
+        // Assert
+        assertFalse(report.passed());
+        assertTrue(report.violations().get(0).startsWith("No baseline sample after the 2000 ms warm-up"));
+    }
+
+    private static SoakMonitor.Sample sample(long seconds, long heapUsed, boolean afterFullGc, int threads, long openFds) {
+        return sample(seconds, heapUsed, afterFullGc, threads, openFds, Map.of("main", threads));
+    }
+
+    private static SoakMonitor.Sample sample(long seconds, long heapUsed, boolean afterFullGc, int threads, long openFds,
+                                             Map<String, Integer> threadGroups) {
+        return new SoakMonitor.Sample(seconds * 1000, 0, heapUsed, afterFullGc, threads, openFds, new TreeMap<>(threadGroups));
+    }
+}
@@ -0,0 +1,54 @@
+package com.api.testing.tests;
+
+import com.api.testing.metrics.ClientMetrics;
+import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * JUnit 5 extension giving each test class one shared ClientMetrics registry
+ * Declare a ClientMetrics parameter on a lifecycle or test method to receive it; after the
+ * last test the registry is written to target/metrics/<test class>.json (override the
+ * directory with -Dmetrics.reportDir). Tests aren't overhead sensitive, so every request's
+ * allocation is probed unless -Dmetrics.allocationSampleEvery says otherwise (0 turns it off)
+ */
+public class MetricsReportExtension implements ParameterResolver, AfterAllCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(MetricsReportExtension.class);
+    private static final String REGISTRY_KEY = "registry";
+    private static final int ALLOCATION_SAMPLE_EVERY = Integer.getInteger("metrics.allocationSampleEvery", 1);
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == ClientMetrics.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return classContext(extensionContext).getStore(NAMESPACE)
+                .getOrComputeIfAbsent(REGISTRY_KEY, key -> new ClientMetrics(ALLOCATION_SAMPLE_EVERY), ClientMetrics.class);
+    }
+
+    @Override
+    public void afterAll(ExtensionContext context) throws Exception {
+        ClientMetrics registry = context.getStore(NAMESPACE).get(REGISTRY_KEY, ClientMetrics.class);
+        if (registry == null) {
+            return;
+        }
+        String testClass = context.getRequiredTestClass().getName();
+        Path reportDir = Paths.get(System.getProperty("metrics.reportDir", "target/metrics"));
+        registry.writeJson(reportDir.resolve(testClass + ".json"), testClass);
+    }
+
+    private static ExtensionContext classContext(ExtensionContext context) {
+        ExtensionContext current = context;
+        while (current.getTestMethod().isPresent() && current.getParent().isPresent()) {
+            current = current.getParent().get();
+        }
+        return current;
+    }
+}
@@ -0,0 +1,125 @@
+package com.api.testing.tests;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.core.Admin;
+import com.github.tomakehurst.wiremock.extension.PostServeAction;
+import com.github.tomakehurst.wiremock.extension.requestfilter.RequestFilterAction;
+import com.github.tomakehurst.wiremock.extension.requestfilter.StubRequestFilter;
+import com.github.tomakehurst.wiremock.http.Request;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+
+/**
+ * JUnit 5 extension sharing one WireMock server, on a dynamic port, across the whole test run
+ * Declare a WireMockServer parameter on a lifecycle or test method to receive it. The server
+ * is started on first use, so tests that never ask for it don't load Jetty at all, and it is
+ * stopped when the run ends. Stubs, recorded requests and scenarios are reset before each test.
+ * After each test with a request still in flight, the extension waits until every request has
+ * been served and none has arrived for a short quiet period, so async requests a test left
+ * running (a prefetched page, an unawaited future) are served before the next test's reset
+ * instead of during its run. Tests that leave nothing in flight don't wait at all.
+ * Tests needing non-default server options (gzip disabled, a custom journal) start their own.
+ */
+public class SharedWireMockExtension implements ParameterResolver, BeforeEachCallback, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(SharedWireMockExtension.class);
+    private static final String SERVER_KEY = "server";
+    private static final long QUIET_MILLIS = 25;
+    private static final long DRAIN_TIMEOUT_MILLIS = 5000;
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == WireMockServer.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return extensionContext.getRoot().getStore(NAMESPACE)
+                .getOrComputeIfAbsent(SERVER_KEY, key -> new SharedServer(), SharedServer.class)
+                .server;
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        SharedServer shared = context.getRoot().getStore(NAMESPACE).get(SERVER_KEY, SharedServer.class);
+        if (shared != null) {
+            shared.server.resetAll();
+        }
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) throws InterruptedException {
+        SharedServer shared = context.getRoot().getStore(NAMESPACE).get(SERVER_KEY, SharedServer.class);
+        if (shared == null) {
+            return;
+        }
+        long arrived = shared.arrived.get();
+        if (shared.served.get() == arrived) {
+            return;
+        }
+        long deadline = System.currentTimeMillis() + DRAIN_TIMEOUT_MILLIS;
+        while (System.currentTimeMillis() < deadline) {
+            Thread.sleep(QUIET_MILLIS);
+            long nowArrived = shared.arrived.get();
+            if (nowArrived == arrived && shared.served.get() == nowArrived) {
+                return;
+            }
+            arrived = nowArrived;
+        }
+        // Fail this test once, without leaving the counters skewed for the ones after it
+        long stuck = shared.arrived.get() - shared.served.get();
+        shared.served.addAndGet(stuck);
+        throw new IllegalStateException(stuck + " requests still in flight on the shared WireMock server after "
+                + DRAIN_TIMEOUT_MILLIS + " ms");
+    }
+
+    /**
+     * Root store entry; JUnit closes it once every test has run
+     * Counts requests as they arrive (a stub request filter) and once their response, delay
+     * included, has been written (a post-serve action)
+     */
+    private static final class SharedServer implements ExtensionContext.Store.CloseableResource {
+        private final AtomicLong arrived = new AtomicLong();
+        private final AtomicLong served = new AtomicLong();
+        private final WireMockServer server;
+
+        private SharedServer() {
+            server = new WireMockServer(options().dynamicPort().extensions(new StubRequestFilter() {
+                @Override
+                public RequestFilterAction filter(Request request) {
+                    arrived.incrementAndGet();
+                    return RequestFilterAction.continueWith(request);
+                }
+
+                @Override
+                public String getName() {
+                    return "shared-wiremock-arrivals";
+                }
+            }, new PostServeAction() {
+                @Override
+                public void doGlobalAction(ServeEvent serveEvent, Admin admin) {
+                    served.incrementAndGet();
+                }
+
+                @Override
+                public String getName() {
+                    return "shared-wiremock-served";
+                }
+            }));
+            server.start();
+        }
+
+        @Override
+        public void close() {
+            server.stop();
+        }
+    }
+}
@@ -3,15 +3,34 @@ package com.api.testing.tests;
 import com.api.testing.models.Post;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * Utility class for test data and common test operations
  */
 public class TestUtils {
     
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    /**
+     * Holder idiom: Jackson is loaded and the mapper built on first use, not when
+     * TestUtils is, so tests that only need sample data never pay for it
+     */
+    private static final class Json {
+        private static final ObjectMapper MAPPER = new ObjectMapper();
+    }
+    
+    /**
+     * Shared ObjectMapper for tests; thread-safe, but must not be reconfigured
+     */
+    public static ObjectMapper objectMapper() {
+        return Json.MAPPER;
+    }
     
     /**
      * Creates a sample Post object for testing
@@ -31,25 +50,61 @@ public class TestUtils {
         );
     }
     
+    /**
+     * Creates count Post objects with ids 1..count, spread over 10 users
+     */
+    public static List<Post> createPosts(int count) {
+        List<Post> posts = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            posts.add(new Post(id, "Post " + id, "Body of post " + id, id % 10 + 1));
+        }
+        return posts;
+    }
+    
     /**
      * Converts an object to JSON string
      */
     public static String toJson(Object object) throws Exception {
-        return objectMapper.writeValueAsString(object);
+        return Json.MAPPER.writeValueAsString(object);
     }
     
     /**
      * Converts JSON string to Post object
      */
     public static Post fromJsonToPost(String json) throws Exception {
-        return objectMapper.readValue(json, Post.class);
+        return Json.MAPPER.readValue(json, Post.class);
     }
     
     /**
      * Converts JSON string to Post array
      */
     public static Post[] fromJsonToPostArray(String json) throws Exception {
-        return objectMapper.readValue(json, Post[].class);
+        return Json.MAPPER.readValue(json, Post[].class);
+    }
+    
+    /**
+     * Compresses data with gzip, for stubbing Content-Encoding: gzip responses
+     */
+    public static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+    
+    /**
+     * Compresses data with deflate, zlib-wrapped unless raw is set
+     */
+    public static byte[] deflate(byte[] data, boolean raw) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, raw);
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(out, deflater)) {
+            deflate.write(data);
+        } finally {
+            deflater.end();
+        }
+        return out.toByteArray();
     }
     
     /**
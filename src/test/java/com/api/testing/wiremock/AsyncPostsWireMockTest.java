@@ -0,0 +1,259 @@
+package com.api.testing.wiremock;
+
+import com.api.testing.client.ApiException;
+import com.api.testing.client.AsyncPostsClient;
+import com.api.testing.config.ApiConfig;
+import com.api.testing.metrics.ClientMetrics;
+import com.api.testing.models.Post;
+import com.api.testing.tests.MetricsReportExtension;
+import com.api.testing.tests.SharedWireMockExtension;
+import com.api.testing.tests.TestUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * WireMock tests for the non-blocking AsyncPostsClient
+ * Mirrors PostsWireMockTest scenario by scenario on the CompletableFuture API
+ * Client metrics for the whole class are written to target/metrics
+ */
+@ExtendWith({SharedWireMockExtension.class, MetricsReportExtension.class})
+public class AsyncPostsWireMockTest {
+
+    private WireMockServer wireMockServer;
+    private ObjectMapper objectMapper;
+    private AsyncPostsClient client;
+
+    @BeforeEach
+    void setUp(WireMockServer server, ClientMetrics metrics) {
+        // Shared WireMock server, started on first use and reset before each test
+        wireMockServer = server;
+
+        // Configure WireMock
+        WireMock.configureFor("localhost", wireMockServer.port());
+
+        // Shared ObjectMapper for JSON processing
+        objectMapper = TestUtils.objectMapper();
+
+        // Point the async client at WireMock
+        client = new AsyncPostsClient("http://localhost:" + wireMockServer.port()).withMetrics(metrics);
+    }
+
+    @Test
+    void testGetAllPosts_Success() throws Exception {
+        // Arrange - Setup WireMock stub
+        Post[] mockPosts = {
+            new Post(1, "Test Post 1", "Body of test post 1", 1),
+            new Post(2, "Test Post 2", "Body of test post 2", 2)
+        };
+
+        stubFor(get(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_OK)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(objectMapper.writeValueAsString(mockPosts))));
+
+        // Act - Make API call
+        List<Post> posts = client.getAllPosts().get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(2, posts.size());
+        assertEquals("Test Post 1", posts.get(0).getTitle());
+        assertEquals("Test Post 2", posts.get(1).getTitle());
+
+        // Verify WireMock was called
+        verify(getRequestedFor(urlEqualTo(ApiConfig.POSTS_ENDPOINT)));
+    }
+
+    @Test
+    void testGetPostById_Success() throws Exception {
+        // Arrange - Setup WireMock stub
+        Post mockPost = new Post(ApiConfig.TEST_POST_ID, ApiConfig.TEST_POST_TITLE, ApiConfig.TEST_POST_BODY, ApiConfig.TEST_USER_ID);
+
+        stubFor(get(urlEqualTo(ApiConfig.POSTS_ENDPOINT + "/" + ApiConfig.TEST_POST_ID))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_OK)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(objectMapper.writeValueAsString(mockPost))));
+
+        // Act - Make API call
+        Post post = client.getPostById(ApiConfig.TEST_POST_ID).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(mockPost, post);
+
+        // Verify WireMock was called
+        verify(getRequestedFor(urlEqualTo(ApiConfig.POSTS_ENDPOINT + "/" + ApiConfig.TEST_POST_ID)));
+    }
+
+    @Test
+    void testGetPostById_NotFound() {
+        // Arrange - Setup WireMock stub for 404 response
+        stubFor(get(urlEqualTo(ApiConfig.POSTS_ENDPOINT + "/999"))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_NOT_FOUND)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{}")));
+
+        // Act & Assert - the future completes exceptionally with the status code
+        ExecutionException thrown = assertThrows(ExecutionException.class,
+                () -> client.getPostById(999).get(5, TimeUnit.SECONDS));
+        ApiException cause = assertInstanceOf(ApiException.class, thrown.getCause());
+        assertEquals(ApiConfig.HTTP_NOT_FOUND, cause.getStatusCode());
+
+        // Verify WireMock was called
+        verify(getRequestedFor(urlEqualTo(ApiConfig.POSTS_ENDPOINT + "/999")));
+    }
+
+    @Test
+    void testCreatePost_Success() throws Exception {
+        // Arrange - Setup WireMock stub
+        Post newPost = new Post(null, "New Post Title", "New Post Body", 1);
+        Post createdPost = new Post(101, "New Post Title", "New Post Body", 1);
+        String requestBody = objectMapper.writeValueAsString(newPost);
+
+        stubFor(post(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .withRequestBody(equalToJson(requestBody))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_CREATED)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(objectMapper.writeValueAsString(createdPost))));
+
+        // Act - Make API call
+        Post post = client.createPost(newPost).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(createdPost, post);
+
+        // Verify WireMock was called
+        verify(postRequestedFor(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .withHeader("Content-Type", equalTo("application/json"))
+                .withRequestBody(equalToJson(requestBody)));
+    }
+
+    @Test
+    void testCreateThenGetPost_Composed() throws Exception {
+        // Arrange - create answers with id 101, which the follow-up GET depends on
+        Post newPost = new Post(null, "New Post Title", "New Post Body", 1);
+        Post createdPost = new Post(101, "New Post Title", "New Post Body", 1);
+
+        stubFor(post(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_CREATED)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(objectMapper.writeValueAsString(createdPost))));
+        stubFor(get(urlEqualTo(ApiConfig.POSTS_ENDPOINT + "/101"))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_OK)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(objectMapper.writeValueAsString(createdPost))));
+
+        // Act - chain the dependent call without blocking in between
+        CompletableFuture<Post> fetched = client.createPost(newPost)
+                .thenCompose(created -> client.getPostById(created.getId()));
+
+        // Assert
+        assertEquals(createdPost, fetched.get(5, TimeUnit.SECONDS));
+
+        // Verify both calls happened
+        verify(postRequestedFor(urlEqualTo(ApiConfig.POSTS_ENDPOINT)));
+        verify(getRequestedFor(urlEqualTo(ApiConfig.POSTS_ENDPOINT + "/101")));
+    }
+
+    @Test
+    void testCreatePost_EncodingFailureFailsFuture() {
+        // Arrange - a post whose getter throws cannot be serialized
+        Post unencodable = new Post(null, "New Post Title", "New Post Body", 1) {
+            @Override
+            public String getTitle() {
+                throw new IllegalStateException("title unavailable");
+            }
+        };
+
+        // Act - the error arrives through the future, so recovery stages see it
+        CompletableFuture<String> recovered = client.createPost(unencodable)
+                .handle((post, error) -> error.getClass().getSimpleName());
+
+        // Assert
+        assertEquals(ApiException.class.getSimpleName(), recovered.join());
+
+        // Verify nothing was sent
+        verify(0, postRequestedFor(urlEqualTo(ApiConfig.POSTS_ENDPOINT)));
+    }
+
+    @Test
+    void testUpdatePost_Success() throws Exception {
+        // Arrange - Setup WireMock stub
+        Post updatedPost = new Post(ApiConfig.TEST_POST_ID, "Updated Title", "Updated Body", ApiConfig.TEST_USER_ID);
+        String requestBody = objectMapper.writeValueAsString(updatedPost);
+
+        stubFor(put(urlEqualTo(ApiConfig.POSTS_ENDPOINT + "/" + ApiConfig.TEST_POST_ID))
+                .withRequestBody(equalToJson(requestBody))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_OK)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(requestBody)));
+
+        // Act - Make API call
+        Post post = client.updatePost(ApiConfig.TEST_POST_ID, updatedPost).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(updatedPost, post);
+
+        // Verify WireMock was called
+        verify(putRequestedFor(urlEqualTo(ApiConfig.POSTS_ENDPOINT + "/" + ApiConfig.TEST_POST_ID))
+                .withRequestBody(equalToJson(requestBody)));
+    }
+
+    @Test
+    void testDeletePost_Success() throws Exception {
+        // Arrange - Setup WireMock stub
+        stubFor(delete(urlEqualTo(ApiConfig.POSTS_ENDPOINT + "/" + ApiConfig.TEST_POST_ID))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_OK)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{}")));
+
+        // Act - Make API call
+        client.deletePost(ApiConfig.TEST_POST_ID).get(5, TimeUnit.SECONDS);
+
+        // Verify WireMock was called
+        verify(deleteRequestedFor(urlEqualTo(ApiConfig.POSTS_ENDPOINT + "/" + ApiConfig.TEST_POST_ID)));
+    }
+
+    @Test
+    void testApiResponseTime_DoesNotBlockCaller() throws Exception {
+        // Arrange - Setup WireMock stub with delay
+        stubFor(get(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_OK)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("[{\"id\":1,\"title\":\"Test\",\"body\":\"Test Body\",\"userId\":1}]")
+                        .withFixedDelay(100))); // 100ms delay
+
+        // Act - issuing the call returns immediately, the delay is paid on completion
+        long startTime = System.currentTimeMillis();
+        CompletableFuture<List<Post>> future = client.getAllPosts();
+        long issueTime = System.currentTimeMillis() - startTime;
+
+        List<Post> posts = future.get(5, TimeUnit.SECONDS);
+        long responseTime = System.currentTimeMillis() - startTime;
+
+        // Assert
+        assertEquals(1, posts.size());
+        assertTrue(issueTime < 100, "Issuing an async call should not wait for the response");
+        assertTrue(responseTime >= 100, "Response time should be at least 100ms due to WireMock delay");
+        assertTrue(responseTime < 1000, "Response time should be reasonable");
+    }
+}
@@ -0,0 +1,380 @@
+package com.api.testing.wiremock;
+
+import com.github.tomakehurst.wiremock.client.VerificationException;
+import com.github.tomakehurst.wiremock.core.Admin;
+import com.github.tomakehurst.wiremock.core.WireMockConfiguration;
+import com.github.tomakehurst.wiremock.extension.PostServeAction;
+import com.github.tomakehurst.wiremock.extension.StubLifecycleListener;
+import com.github.tomakehurst.wiremock.matching.RequestPattern;
+import com.github.tomakehurst.wiremock.matching.RequestPatternBuilder;
+import com.github.tomakehurst.wiremock.stubbing.ServeEvent;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import com.github.tomakehurst.wiremock.verification.LoggedRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded request journal with exact counts, for load runs against the mocks
+ * WireMock's own journal keeps every request and eventually exhausts the heap. applyTo
+ * caps it instead, so WireMock's verify and findAll keep working on the most recent
+ * requests. Alongside, this journal keeps the last capacity requests as summaries in a
+ * lock-free ring buffer (full bodies only for a sampled fraction) plus exact counters, so
+ * count-based verification stays exact however long the run is:
+ * <ul>
+ *   <li>per stub, for countFor(StubMapping) or a pattern equal to the stub's request pattern</li>
+ *   <li>per tracked pattern, counted by matching every request, for patterns registered
+ *       with track() before the run</li>
+ * </ul>
+ * Requests are recorded by a post-serve hook, i.e. just after the response is written,
+ * so verify waits briefly for counts that are still short of the expectation.
+ *
+ * Usage: new WireMockServer(journal.applyTo(options().dynamicPort()))
+ */
+public class BoundedRequestJournal extends PostServeAction implements StubLifecycleListener {
+
+    public static final String NAME = "bounded-request-journal";
+
+    private static final long SETTLE_TIMEOUT_MILLIS = 2000;
+
+    private final int capacity;
+    private final double bodySampleRate;
+    private final AtomicReferenceArray<Entry> ring;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final Map<UUID, StubCounter> stubCounters = new ConcurrentHashMap<>();
+    private final Map<RequestPattern, LongAdder> tracked = new ConcurrentHashMap<>();
+    private final LongAdder unmatched = new LongAdder();
+    private final LongAdder recorded = new LongAdder();
+
+    /**
+     * @param capacity       number of recent requests retained
+     * @param bodySampleRate fraction of retained requests that keep their body, 0.0 to 1.0
+     */
+    public BoundedRequestJournal(int capacity, double bodySampleRate) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        if (bodySampleRate < 0.0 || bodySampleRate > 1.0) {
+            throw new IllegalArgumentException("bodySampleRate must be within [0, 1]: " + bodySampleRate);
+        }
+        this.capacity = capacity;
+        this.bodySampleRate = bodySampleRate;
+        this.ring = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Caps WireMock's journal at capacity entries and registers this one alongside it
+     * WireMock's verify(...) then counts only the requests still in its journal; use this
+     * journal's verify for exact counts over longer runs. WireMock keeps each of those
+     * entries whole, bodies included, so retention is capacity full requests on top of this
+     * journal's summaries and bodySampleRate only bounds the latter; when that matters, pass
+     * a smaller cap to applyTo(options, wireMockJournalEntries).
+     */
+    public WireMockConfiguration applyTo(WireMockConfiguration options) {
+        return applyTo(options, capacity);
+    }
+
+    /**
+     * Caps WireMock's journal at wireMockJournalEntries full requests and registers this one
+     * alongside it; 0 disables WireMock's journal, and with it WireMock's verify and findAll
+     */
+    public WireMockConfiguration applyTo(WireMockConfiguration options, int wireMockJournalEntries) {
+        if (wireMockJournalEntries < 0) {
+            throw new IllegalArgumentException("wireMockJournalEntries must not be negative: " + wireMockJournalEntries);
+        }
+        WireMockConfiguration capped = wireMockJournalEntries == 0
+                ? options.disableRequestJournal()
+                : options.maxRequestJournalEntries(wireMockJournalEntries);
+        return capped.extensions(this);
+    }
+
+    /**
+     * Counts requests matching pattern exactly from now on, e.g. one narrower than any stub
+     * Each tracked pattern is matched against every request, so track only what is verified.
+     */
+    public BoundedRequestJournal track(RequestPatternBuilder pattern) {
+        tracked.putIfAbsent(pattern.build(), new LongAdder());
+        return this;
+    }
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void doGlobalAction(ServeEvent serveEvent, Admin admin) {
+        StubMapping stub = serveEvent.getStubMapping();
+        UUID stubId = serveEvent.getWasMatched() && stub != null ? stub.getId() : null;
+
+        LoggedRequest request = serveEvent.getRequest();
+        boolean keepBody = bodySampleRate > 0.0
+                && (bodySampleRate >= 1.0 || ThreadLocalRandom.current().nextDouble() < bodySampleRate);
+        long seq = sequence.getAndIncrement();
+        ring.set(slot(seq), new Entry(seq,
+                request.getMethod().getName(),
+                request.getUrl(),
+                request.getLoggedDate() != null ? request.getLoggedDate().getTime() : System.currentTimeMillis(),
+                stubId,
+                serveEvent.getResponse() != null ? serveEvent.getResponse().getStatus() : 0,
+                keepBody ? request.getBodyAsString() : null));
+
+        // Counters last, so a settled count implies the entry is visible in recent()
+        if (stubId == null) {
+            unmatched.increment();
+        } else {
+            stubCounters.computeIfAbsent(stubId, id -> new StubCounter(stub.getRequest())).count.increment();
+        }
+        for (Map.Entry<RequestPattern, LongAdder> pattern : tracked.entrySet()) {
+            if (pattern.getKey().match(request).isExactMatch()) {
+                pattern.getValue().increment();
+            }
+        }
+        recorded.increment();
+    }
+
+    /**
+     * Exact number of requests served by the stub since it was registered
+     */
+    public long countFor(StubMapping stub) {
+        StubCounter counter = stubCounters.get(stub.getId());
+        return counter == null ? 0 : counter.count.sum();
+    }
+
+    /**
+     * Exact number of requests matching pattern
+     * Answered for tracked patterns, and for a pattern equal to the request pattern of one
+     * or more stubs, e.g. getRequestedFor(urlEqualTo("/posts")) for a stub built with
+     * get(urlEqualTo("/posts")): the requests those stubs served. Any other pattern may
+     * match only some of a stub's requests, or requests of several stubs, which the counters
+     * can't tell apart.
+     *
+     * @throws IllegalStateException if pattern is neither tracked nor a stub's request pattern
+     */
+    public long countFor(RequestPatternBuilder pattern) {
+        RequestPattern requestPattern = pattern.build();
+        LongAdder exact = tracked.get(requestPattern);
+        if (exact != null) {
+            return exact.sum();
+        }
+        long total = 0;
+        boolean stubPattern = false;
+        for (StubCounter counter : stubCounters.values()) {
+            if (counter.request.equals(requestPattern)) {
+                stubPattern = true;
+                total += counter.count.sum();
+            }
+        }
+        if (!stubPattern) {
+            throw new IllegalStateException("Cannot count " + requestPattern + " exactly: it is not the request pattern"
+                    + " of any stub; track() it before the run");
+        }
+        return total;
+    }
+
+    public long unmatchedCount() {
+        return unmatched.sum();
+    }
+
+    /**
+     * Number of requests fully recorded so far
+     */
+    public long totalCount() {
+        return recorded.sum();
+    }
+
+    /**
+     * Waits until at least expected requests have been recorded, returning the final count
+     */
+    public long awaitTotalCount(long expected) {
+        return settle(expected, this::totalCount);
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public void verify(long expected, StubMapping stub) {
+        long actual = settle(expected, () -> countFor(stub));
+        if (actual != expected) {
+            throw new VerificationException("Expected exactly " + expected + " requests for stub "
+                    + stub.getId() + " (" + stub.getRequest() + ") but received " + actual);
+        }
+    }
+
+    public void verify(long expected, RequestPatternBuilder pattern) {
+        long actual = settle(expected, () -> countFor(pattern));
+        if (actual != expected) {
+            throw new VerificationException("Expected exactly " + expected + " requests matching "
+                    + pattern.build() + " but received " + actual);
+        }
+    }
+
+    /**
+     * Retained requests, oldest first; at most capacity entries
+     * Entries overwritten while the snapshot is taken are skipped
+     */
+    public List<Entry> recent() {
+        long end = sequence.get();
+        long start = Math.max(0, end - capacity);
+        List<Entry> entries = new ArrayList<>((int) (end - start));
+        for (long seq = start; seq < end; seq++) {
+            Entry entry = ring.get(slot(seq));
+            if (entry != null && entry.getSequence() == seq) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Clears retained requests and counters, e.g. between load phases; patterns stay tracked
+     * and stubs stay known
+     */
+    public void reset() {
+        for (int i = 0; i < capacity; i++) {
+            ring.set(i, null);
+        }
+        stubCounters.values().forEach(counter -> counter.count.reset());
+        tracked.values().forEach(LongAdder::reset);
+        unmatched.reset();
+        recorded.reset();
+        sequence.set(0);
+    }
+
+    @Override
+    public void beforeStubCreated(StubMapping stub) {
+    }
+
+    @Override
+    public void afterStubCreated(StubMapping stub) {
+        stubCounters.putIfAbsent(stub.getId(), new StubCounter(stub.getRequest()));
+    }
+
+    @Override
+    public void beforeStubEdited(StubMapping oldStub, StubMapping newStub) {
+    }
+
+    @Override
+    public void afterStubEdited(StubMapping oldStub, StubMapping newStub) {
+        // Requests served so far still count for the stub, under its new pattern
+        StubCounter old = stubCounters.get(oldStub.getId());
+        stubCounters.put(newStub.getId(), new StubCounter(newStub.getRequest(), old != null ? old.count : new LongAdder()));
+    }
+
+    @Override
+    public void beforeStubRemoved(StubMapping stub) {
+    }
+
+    @Override
+    public void afterStubRemoved(StubMapping stub) {
+        // Kept: the requests it served still count
+    }
+
+    @Override
+    public void beforeStubsReset() {
+    }
+
+    @Override
+    public void afterStubsReset() {
+    }
+
+    private static long settle(long expected, LongSupplier count) {
+        long deadline = System.currentTimeMillis() + SETTLE_TIMEOUT_MILLIS;
+        long actual = count.getAsLong();
+        while (actual < expected && System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            actual = count.getAsLong();
+        }
+        return actual;
+    }
+
+    private int slot(long seq) {
+        return (int) (seq % capacity);
+    }
+
+    private static final class StubCounter {
+        private final RequestPattern request;
+        private final LongAdder count;
+
+        private StubCounter(RequestPattern request) {
+            this(request, new LongAdder());
+        }
+
+        private StubCounter(RequestPattern request, LongAdder count) {
+            this.request = request;
+            this.count = count;
+        }
+    }
+
+    /**
+     * Immutable summary of one served request
+     */
+    public static final class Entry {
+        private final long sequence;
+        private final String method;
+        private final String url;
+        private final long timestamp;
+        private final UUID stubId;
+        private final int status;
+        private final String body;
+
+        Entry(long sequence, String method, String url, long timestamp, UUID stubId, int status, String body) {
+            this.sequence = sequence;
+            this.method = method;
+            this.url = url;
+            this.timestamp = timestamp;
+            this.stubId = stubId;
+            this.status = status;
+            this.body = body;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public String getMethod() {
+            return method;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Id of the stub that served the request, or null when nothing matched
+         */
+        public UUID getStubId() {
+            return stubId;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        /**
+         * Request body if this entry was sampled, otherwise null
+         */
+        public String getBody() {
+            return body;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.api.testing.wiremock;
+
+import com.api.testing.config.ApiConfig;
+import com.api.testing.models.Post;
+import com.api.testing.tests.TestUtils;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.VerificationException;
+import com.github.tomakehurst.wiremock.stubbing.StubMapping;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * WireMock tests for the bounded, sampled request journal
+ */
+public class BoundedRequestJournalWireMockTest {
+
+    private WireMockServer wireMockServer;
+
+    private BoundedRequestJournal start(int capacity, double bodySampleRate) {
+        BoundedRequestJournal journal = new BoundedRequestJournal(capacity, bodySampleRate);
+        wireMockServer = new WireMockServer(journal.applyTo(options().dynamicPort()));
+        wireMockServer.start();
+        RestAssured.baseURI = "http://localhost:" + wireMockServer.port();
+        return journal;
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Stop WireMock server
+        wireMockServer.stop();
+
+        // Reset RestAssured
+        RestAssured.reset();
+    }
+
+    @Test
+    void testRingKeepsOnlyMostRecentRequests() {
+        // Arrange
+        BoundedRequestJournal journal = start(8, 0.0);
+        wireMockServer.stubFor(get(urlPathMatching(ApiConfig.POSTS_ENDPOINT + "/\\d+"))
+                .willReturn(aResponse().withStatus(ApiConfig.HTTP_OK).withBody("{}")));
+
+        // Act
+        for (int id = 1; id <= 20; id++) {
+            given().when().get(ApiConfig.POSTS_ENDPOINT + "/" + id).then().statusCode(ApiConfig.HTTP_OK);
+        }
+
+        // Assert - only the last 8 recorded are retained, oldest first
+        journal.verify(20, getRequestedFor(urlPathMatching(ApiConfig.POSTS_ENDPOINT + "/\\d+")));
+        List<BoundedRequestJournal.Entry> recent = journal.recent();
+        assertEquals(8, recent.size());
+        for (int i = 0; i < recent.size(); i++) {
+            BoundedRequestJournal.Entry entry = recent.get(i);
+            assertEquals(12 + i, entry.getSequence());
+            assertEquals(ApiConfig.HTTP_OK, entry.getStatus());
+            // Hooks may finish slightly out of order, but never far behind
+            int id = Integer.parseInt(entry.getUrl().substring(ApiConfig.POSTS_ENDPOINT.length() + 1));
+            assertTrue(id > 10, "Unexpectedly old request retained: " + entry.getUrl());
+        }
+        assertEquals(20, journal.totalCount());
+    }
+
+    @Test
+    void testExactPerStubCountsBeyondCapacity() throws Exception {
+        // Arrange
+        BoundedRequestJournal journal = start(4, 0.0);
+        StubMapping getAll = wireMockServer.stubFor(get(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_OK)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(TestUtils.toJson(TestUtils.createSamplePosts()))));
+        StubMapping deleteOne = wireMockServer.stubFor(delete(urlEqualTo(ApiConfig.POSTS_ENDPOINT + "/" + ApiConfig.TEST_POST_ID))
+                .willReturn(aResponse().withStatus(ApiConfig.HTTP_OK)));
+
+        // Act
+        for (int i = 0; i < 50; i++) {
+            given().when().get(ApiConfig.POSTS_ENDPOINT).then().statusCode(ApiConfig.HTTP_OK);
+        }
+        for (int i = 0; i < 3; i++) {
+            given().when().delete(ApiConfig.POSTS_ENDPOINT + "/" + ApiConfig.TEST_POST_ID).then().statusCode(ApiConfig.HTTP_OK);
+        }
+        given().when().get("/unknown").then().statusCode(ApiConfig.HTTP_NOT_FOUND);
+
+        // Assert - counters stay exact although the ring only holds 4 entries
+        assertEquals(54, journal.awaitTotalCount(54));
+        journal.verify(50, getAll);
+        journal.verify(3, deleteOne);
+        journal.verify(50, getRequestedFor(urlEqualTo(ApiConfig.POSTS_ENDPOINT)));
+        assertEquals(1, journal.unmatchedCount());
+        assertEquals(4, journal.recent().size());
+        assertEquals(1, journal.recent().stream().filter(entry -> entry.getStubId() == null).count());
+
+        VerificationException thrown = assertThrows(VerificationException.class, () -> journal.verify(2, deleteOne));
+        assertTrue(thrown.getMessage().contains("received 3"));
+    }
+
+    @Test
+    void testWireMockVerifyAndMatchingPatterns() {
+        // Arrange - one stub for every post id, one id and a pattern unlike the stubs tracked
+        BoundedRequestJournal journal = start(8, 0.0)
+                .track(getRequestedFor(urlEqualTo(ApiConfig.POSTS_ENDPOINT + "/1")))
+                .track(getRequestedFor(urlPathEqualTo(ApiConfig.POSTS_ENDPOINT)));
+        configureFor("localhost", wireMockServer.port());
+        wireMockServer.stubFor(get(urlPathMatching(ApiConfig.POSTS_ENDPOINT + "/\\d+"))
+                .willReturn(aResponse().withStatus(ApiConfig.HTTP_OK).withBody("{}")));
+        wireMockServer.stubFor(get(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .willReturn(aResponse().withStatus(ApiConfig.HTTP_OK).withBody("[]")));
+        wireMockServer.stubFor(delete(urlPathMatching(ApiConfig.POSTS_ENDPOINT + "/\\d+"))
+                .willReturn(aResponse().withStatus(ApiConfig.HTTP_OK)));
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            given().when().get(ApiConfig.POSTS_ENDPOINT).then().statusCode(ApiConfig.HTTP_OK);
+        }
+        for (int id = 1; id <= 4; id++) {
+            given().when().get(ApiConfig.POSTS_ENDPOINT + "/" + id).then().statusCode(ApiConfig.HTTP_OK);
+        }
+        given().when().get(ApiConfig.POSTS_ENDPOINT + "/1").then().statusCode(ApiConfig.HTTP_OK);
+
+        // Assert - a stub's own pattern counts, even before it served anything; others through track()
+        journal.verify(5, getRequestedFor(urlPathMatching(ApiConfig.POSTS_ENDPOINT + "/\\d+")));
+        journal.verify(0, deleteRequestedFor(urlPathMatching(ApiConfig.POSTS_ENDPOINT + "/\\d+")));
+        journal.verify(3, getRequestedFor(urlPathEqualTo(ApiConfig.POSTS_ENDPOINT)));
+        journal.verify(2, getRequestedFor(urlEqualTo(ApiConfig.POSTS_ENDPOINT + "/1")));
+        IllegalStateException untracked = assertThrows(IllegalStateException.class,
+                () -> journal.countFor(getRequestedFor(urlEqualTo(ApiConfig.POSTS_ENDPOINT + "/2"))));
+        assertTrue(untracked.getMessage().contains("track()"));
+
+        // WireMock's own verify keeps working within the capped journal
+        verify(3, getRequestedFor(urlEqualTo(ApiConfig.POSTS_ENDPOINT)));
+        verify(2, getRequestedFor(urlEqualTo(ApiConfig.POSTS_ENDPOINT + "/1")));
+    }
+
+    @Test
+    void testSmallerWireMockJournal() {
+        // Arrange - WireMock keeps 2 full requests, this journal 8 summaries
+        BoundedRequestJournal journal = new BoundedRequestJournal(8, 0.0);
+        wireMockServer = new WireMockServer(journal.applyTo(options().dynamicPort(), 2));
+        wireMockServer.start();
+        RestAssured.baseURI = "http://localhost:" + wireMockServer.port();
+        StubMapping getAll = wireMockServer.stubFor(get(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .willReturn(aResponse().withStatus(ApiConfig.HTTP_OK).withBody("[]")));
+
+        // Act
+        for (int i = 0; i < 5; i++) {
+            given().when().get(ApiConfig.POSTS_ENDPOINT).then().statusCode(ApiConfig.HTTP_OK);
+        }
+
+        // Assert
+        journal.verify(5, getAll);
+        assertEquals(5, journal.recent().size());
+        assertEquals(2, wireMockServer.getAllServeEvents().size());
+    }
+
+    @Test
+    void testBodySampling() throws Exception {
+        // Arrange - every body kept
+        BoundedRequestJournal journal = start(16, 1.0);
+        String requestBody = TestUtils.toJson(new Post(null, "New Post Title", "New Post Body", 1));
+        wireMockServer.stubFor(post(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .willReturn(aResponse().withStatus(ApiConfig.HTTP_CREATED)));
+
+        // Act
+        given().contentType("application/json").body(requestBody)
+                .when().post(ApiConfig.POSTS_ENDPOINT)
+                .then().statusCode(ApiConfig.HTTP_CREATED);
+
+        // Assert
+        journal.verify(1, postRequestedFor(urlEqualTo(ApiConfig.POSTS_ENDPOINT)));
+        assertEquals(requestBody, journal.recent().get(0).getBody());
+    }
+
+    @Test
+    void testBodiesDroppedWhenNotSampled() throws Exception {
+        // Arrange - no body kept
+        BoundedRequestJournal journal = start(16, 0.0);
+        wireMockServer.stubFor(post(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .willReturn(aResponse().withStatus(ApiConfig.HTTP_CREATED)));
+
+        // Act
+        given().contentType("application/json").body(TestUtils.toJson(TestUtils.createSamplePost()))
+                .when().post(ApiConfig.POSTS_ENDPOINT)
+                .then().statusCode(ApiConfig.HTTP_CREATED);
+
+        // Assert
+        journal.verify(1, postRequestedFor(urlEqualTo(ApiConfig.POSTS_ENDPOINT)));
+        assertEquals("POST", journal.recent().get(0).getMethod());
+        assertNull(journal.recent().get(0).getBody());
+    }
+}
@@ -0,0 +1,175 @@
+package com.api.testing.wiremock;
+
+import com.api.testing.client.AsyncPostsClient;
+import com.api.testing.config.ApiConfig;
+import com.api.testing.metrics.ClientMetrics;
+import com.api.testing.metrics.Phase;
+import com.api.testing.models.Post;
+import com.api.testing.tests.SharedWireMockExtension;
+import com.api.testing.tests.TestUtils;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * WireMock tests for per-phase client instrumentation
+ */
+@ExtendWith(SharedWireMockExtension.class)
+public class ClientMetricsWireMockTest {
+
+    private WireMockServer wireMockServer;
+    private ClientMetrics metrics;
+    private AsyncPostsClient client;
+
+    @BeforeEach
+    void setUp(WireMockServer server) {
+        // Shared WireMock server, started on first use and reset before each test
+        wireMockServer = server;
+
+        // Configure WireMock
+        WireMock.configureFor("localhost", wireMockServer.port());
+
+        // Fresh registry per test, sampling every request, so counts are exact
+        metrics = new ClientMetrics(1);
+        client = new AsyncPostsClient("http://localhost:" + wireMockServer.port()).withMetrics(metrics);
+    }
+
+    @Test
+    void testGetAllPosts_RecordsResponsePhases() throws Exception {
+        // Arrange
+        stubFor(get(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_OK)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(TestUtils.toJson(TestUtils.createPosts(500)))));
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            client.getAllPosts().get(5, TimeUnit.SECONDS);
+        }
+
+        // Assert - GETs have no request body, so nothing is serialized
+        assertEquals(3, metrics.getRequestCount());
+        assertEquals(0, metrics.getErrorCount());
+        assertEquals(0, metrics.timer(Phase.SERIALIZE).getCount());
+        assertEquals(3, metrics.timer(Phase.TIME_TO_HEADERS).getCount());
+        assertEquals(3, metrics.timer(Phase.BODY_READ).getCount());
+        assertEquals(3, metrics.timer(Phase.DESERIALIZE).getCount());
+        assertTrue(metrics.timer(Phase.TIME_TO_HEADERS).getTotalNanos() > 0);
+        assertTrue(metrics.timer(Phase.DESERIALIZE).getMaxNanos() > 0);
+        if (ClientMetrics.currentThreadAllocatedBytes() >= 0) {
+            assertEquals(3, metrics.timer(Phase.DESERIALIZE).getAllocationSamples());
+            assertTrue(metrics.timer(Phase.DESERIALIZE).getAllocatedBytes() > 0,
+                    "Decoding 500 posts should allocate");
+            assertEquals(3, metrics.getSampledRequestCount());
+            assertEquals(metrics.timer(Phase.DESERIALIZE).getAllocatedBytes(), metrics.getRequestAllocatedBytes());
+            assertTrue(metrics.getMaxRequestAllocatedBytes() * 3 >= metrics.getRequestAllocatedBytes());
+        }
+    }
+
+    @Test
+    void testDefaultRegistry_ProbesNoAllocation() throws Exception {
+        // Arrange
+        ClientMetrics unsampled = new ClientMetrics();
+        AsyncPostsClient unsampledClient = client.withMetrics(unsampled);
+        stubFor(get(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_OK)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(TestUtils.toJson(TestUtils.createPosts(10)))));
+
+        // Act
+        unsampledClient.getAllPosts().get(5, TimeUnit.SECONDS);
+
+        // Assert - timed, but allocation is opt-in
+        assertEquals(1, unsampled.timer(Phase.DESERIALIZE).getCount());
+        assertEquals(0, unsampled.timer(Phase.DESERIALIZE).getAllocationSamples());
+        assertEquals(0, unsampled.getSampledRequestCount());
+    }
+
+    @Test
+    void testCreatePost_RecordsSerialization() throws Exception {
+        // Arrange
+        Post newPost = new Post(null, "New Post Title", "New Post Body", 1);
+        stubFor(post(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_CREATED)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(TestUtils.toJson(new Post(101, "New Post Title", "New Post Body", 1)))));
+
+        // Act
+        client.createPost(newPost).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(1, metrics.timer(Phase.SERIALIZE).getCount());
+        assertTrue(metrics.timer(Phase.SERIALIZE).getTotalNanos() > 0);
+        assertEquals(1, metrics.timer(Phase.DESERIALIZE).getCount());
+        if (ClientMetrics.currentThreadAllocatedBytes() >= 0) {
+            // Serializing on the caller and decoding on the decode thread add up to one request
+            assertEquals(1, metrics.getSampledRequestCount());
+            assertEquals(metrics.timer(Phase.SERIALIZE).getAllocatedBytes() + metrics.timer(Phase.DESERIALIZE).getAllocatedBytes(),
+                    metrics.getRequestAllocatedBytes());
+        }
+    }
+
+    @Test
+    void testGetPostById_NotFoundCountsError() {
+        // Arrange
+        stubFor(get(urlEqualTo(ApiConfig.POSTS_ENDPOINT + "/999"))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_NOT_FOUND)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{}")));
+
+        // Act
+        assertThrows(ExecutionException.class, () -> client.getPostById(999).get(5, TimeUnit.SECONDS));
+
+        // Assert - headers arrived, but nothing was decoded
+        assertEquals(1, metrics.getRequestCount());
+        assertEquals(1, metrics.getErrorCount());
+        assertEquals(1, metrics.timer(Phase.TIME_TO_HEADERS).getCount());
+        assertEquals(0, metrics.timer(Phase.DESERIALIZE).getCount());
+    }
+
+    @Test
+    void testWriteJson_MicrometerStyleReport(@TempDir Path tempDir) throws Exception {
+        // Arrange
+        stubFor(delete(urlEqualTo(ApiConfig.POSTS_ENDPOINT + "/" + ApiConfig.TEST_POST_ID))
+                .willReturn(aResponse().withStatus(ApiConfig.HTTP_OK)));
+        client.deletePost(ApiConfig.TEST_POST_ID).get(5, TimeUnit.SECONDS);
+
+        // Act
+        Path report = tempDir.resolve("metrics").resolve("report.json");
+        metrics.writeJson(report, getClass().getName());
+
+        // Assert
+        JsonNode json = TestUtils.objectMapper().readTree(report.toFile());
+        assertEquals(getClass().getName(), json.get("source").asText());
+        JsonNode meters = json.get("meters");
+        assertEquals(2 + Phase.values().length + 1, meters.size());
+        assertEquals("posts.client.requests", meters.get(0).get("name").asText());
+        assertEquals(1, meters.get(0).get("count").asLong());
+
+        JsonNode headers = meters.get(2 + Phase.TIME_TO_HEADERS.ordinal());
+        assertEquals("posts.client.phase", headers.get("name").asText());
+        assertEquals("time_to_headers", headers.get("tags").get("phase").asText());
+        assertEquals(1, headers.get("count").asLong());
+
+        // DELETE has no body either way, so nothing is sampled
+        JsonNode allocation = meters.get(2 + Phase.values().length);
+        assertEquals("posts.client.request.allocation", allocation.get("name").asText());
+        assertEquals("bytes", allocation.get("baseUnit").asText());
+        assertEquals(0, allocation.get("count").asLong());
+    }
+}
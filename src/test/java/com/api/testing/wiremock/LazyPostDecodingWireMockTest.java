@@ -0,0 +1,170 @@
+package com.api.testing.wiremock;
+
+import com.api.testing.client.AsyncPostsClient;
+import com.api.testing.codec.LazyPost;
+import com.api.testing.codec.LazyPostDecoder;
+import com.api.testing.codec.PostField;
+import com.api.testing.config.ApiConfig;
+import com.api.testing.models.Post;
+import com.api.testing.tests.SharedWireMockExtension;
+import com.api.testing.tests.TestUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * WireMock tests for lazy and projecting Post decoding
+ */
+@ExtendWith(SharedWireMockExtension.class)
+public class LazyPostDecodingWireMockTest {
+
+    private final ObjectMapper objectMapper = TestUtils.objectMapper();
+
+    // Only the tests going over HTTP ask for the shared WireMock server
+    private static AsyncPostsClient clientFor(WireMockServer wireMockServer) {
+        return new AsyncPostsClient("http://localhost:" + wireMockServer.port());
+    }
+
+    @Test
+    void testLazyPostsMatchEagerDecoding(WireMockServer wireMockServer) throws Exception {
+        // Arrange
+        List<Post> expected = TestUtils.createPosts(50);
+        wireMockServer.stubFor(get(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_OK)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(TestUtils.toJson(expected))));
+
+        // Act
+        List<LazyPost> posts = clientFor(wireMockServer).getAllPosts(new LazyPostDecoder()).get(5, TimeUnit.SECONDS);
+
+        // Assert - text fields stay pending until read, then equal the eager result
+        assertEquals(expected.size(), posts.size());
+        LazyPost first = posts.get(0);
+        assertEquals(1, first.getId());
+        assertTrue(first.isSourceRetained());
+        assertTrue(first.isTitlePending());
+        assertTrue(first.isBodyPending());
+        assertEquals("Post 1", first.getTitle());
+        assertFalse(first.isTitlePending());
+        assertTrue(first.isBodyPending());
+        assertEquals(expected, posts);
+        assertFalse(posts.get(49).isBodyPending());
+    }
+
+    @Test
+    void testProjectionSkipsUnwantedFields(WireMockServer wireMockServer) throws Exception {
+        // Arrange
+        wireMockServer.stubFor(get(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_OK)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(TestUtils.toJson(TestUtils.createPosts(10)))));
+
+        // Act
+        List<LazyPost> posts = clientFor(wireMockServer).getAllPosts(LazyPostDecoder.projecting("id,userId"))
+                .get(5, TimeUnit.SECONDS);
+
+        // Assert - nothing left to decode later, so the buffer is not retained
+        assertEquals(10, posts.size());
+        for (LazyPost post : posts) {
+            assertFalse(post.isSourceRetained());
+            assertNotNull(post.getId());
+            assertNotNull(post.getUserId());
+            assertFalse(post.isTitlePending());
+            assertNull(post.getTitle());
+            assertNull(post.getBody());
+        }
+        assertEquals(10, posts.get(9).getId());
+        assertEquals(1, posts.get(9).getUserId());
+    }
+
+    @Test
+    void testEscapedAndUnicodeStringsMaterialize() throws Exception {
+        // Arrange
+        Post tricky = new Post(7, "Quote \" and \\ backslash", "Line\nbreak, tab\t, café ✓", 3);
+        byte[] json = objectMapper.writeValueAsBytes(tricky);
+
+        // Act
+        LazyPost post = new LazyPostDecoder().decodePost(json);
+
+        // Assert
+        assertEquals(tricky.getTitle(), post.getTitle());
+        assertEquals(tricky.getBody(), post.getBody());
+        assertEquals(tricky, post);
+        assertEquals(tricky.hashCode(), post.hashCode());
+
+        // \\u escapes, including a surrogate pair and a lone surrogate, decode as Jackson does
+        String escaped = "{\"id\":8,\"title\":\"caf\\u00e9 \\u2713 \\ud83d\\ude00\\/\",\"body\":\"lone \\ud800 end\",\"userId\":1}";
+        byte[] escapedJson = escaped.getBytes(StandardCharsets.UTF_8);
+        assertEquals(objectMapper.readValue(escapedJson, Post.class), new LazyPostDecoder().decodePost(escapedJson));
+    }
+
+    @Test
+    void testUnknownNestedAndNullFieldsAreSkipped() throws Exception {
+        // Arrange
+        String json = "[{\"id\":1,\"meta\":{\"tags\":[\"a\",{\"b\":null}]},\"title\":null,"
+                + "\"body\":\"kept\",\"extra\":[1,2,3],\"userId\":4},"
+                + "{\"userId\":5,\"body\":\"b2\",\"title\":\"t2\",\"id\":2}]";
+
+        // Act
+        List<LazyPost> posts = new LazyPostDecoder().decodePosts(json.getBytes(StandardCharsets.UTF_8));
+
+        // Assert
+        assertEquals(2, posts.size());
+        assertEquals(new Post(1, null, "kept", 4), posts.get(0));
+        assertEquals(new Post(2, "t2", "b2", 5), posts.get(1));
+        assertEquals(EnumSet.of(PostField.ID, PostField.USER_ID), PostField.parse(" id , userId "));
+        assertThrows(IllegalArgumentException.class, () -> LazyPostDecoder.projecting("id,author"));
+    }
+
+    @Test
+    void testNonIntegerIdsAreRejected() throws Exception {
+        // Arrange
+        LazyPostDecoder decoder = new LazyPostDecoder();
+        LazyPostDecoder idsOnly = LazyPostDecoder.projecting("id,userId");
+
+        // Act & Assert - never silently 0
+        JsonMappingException quoted = assertThrows(JsonMappingException.class,
+                () -> decoder.decodePost(bytes("{\"id\":\"7\",\"title\":\"t\"}")));
+        assertTrue(quoted.getMessage().contains("Expected an integer for id but found VALUE_STRING"), quoted.getMessage());
+        assertThrows(JsonMappingException.class, () -> idsOnly.decodePost(bytes("{\"id\":1,\"userId\":\"abc\"}")));
+        assertThrows(JsonMappingException.class, () -> idsOnly.decodePost(bytes("{\"id\":1.5}")));
+        assertThrows(JsonMappingException.class, () -> idsOnly.decodePosts(bytes("[{\"id\":true}]")));
+        assertThrows(JsonProcessingException.class, () -> idsOnly.decodePost(bytes("{\"id\":4294967296}")));
+
+        // An id outside the projection is skipped whatever its type
+        assertNull(LazyPostDecoder.projecting("userId").decodePost(bytes("{\"id\":\"x\",\"userId\":2}")).getId());
+    }
+
+    @Test
+    void testSettersReplacePendingValues() throws Exception {
+        // Arrange
+        LazyPost post = new LazyPostDecoder().decodePost(
+                objectMapper.writeValueAsBytes(new Post(1, "Original", "Original body", 1)));
+
+        // Act
+        post.setTitle("Updated");
+
+        // Assert - an overwritten field is never decoded, and serialization reads through the getters
+        assertFalse(post.isTitlePending());
+        assertEquals("Updated", post.getTitle());
+        assertEquals(objectMapper.writeValueAsString(new Post(1, "Updated", "Original body", 1)),
+                objectMapper.writeValueAsString(post));
+    }
+
+    private static byte[] bytes(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,42 @@
+package com.api.testing.wiremock;
+
+import com.api.testing.client.WireFormat;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.MappingBuilder;
+
+import java.util.function.Supplier;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+
+/**
+ * WireMock fixtures that serve the same Post payload in every WireFormat
+ * The representation is picked from the request's Accept header; requests that
+ * don't ask for a binary format get JSON, like the real API
+ */
+public class NegotiatedStubs {
+
+    // Lower number wins in WireMock; the JSON fallback sits below the binary variants
+    private static final int BINARY_PRIORITY = 1;
+    private static final int JSON_FALLBACK_PRIORITY = 5;
+
+    private NegotiatedStubs() {
+        // Utility class - prevent instantiation
+    }
+
+    /**
+     * Stubs the request with one response per WireFormat, each body encoded from payload
+     * The supplier must return a fresh MappingBuilder per call, e.g. () -> get(urlEqualTo("/posts"))
+     */
+    public static void stubNegotiated(WireMockServer server, Supplier<MappingBuilder> request, int status, Object payload)
+            throws Exception {
+        for (WireFormat format : WireFormat.values()) {
+            MappingBuilder mapping = format == WireFormat.JSON
+                    ? request.get().atPriority(JSON_FALLBACK_PRIORITY)
+                    : request.get().atPriority(BINARY_PRIORITY).withHeader("Accept", containing(format.mediaType()));
+            server.stubFor(mapping.willReturn(aResponse()
+                    .withStatus(status)
+                    .withHeader("Content-Type", format.mediaType())
+                    .withBody(format.mapper().writeValueAsBytes(payload))));
+        }
+    }
+}
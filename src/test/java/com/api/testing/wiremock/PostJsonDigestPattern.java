@@ -0,0 +1,317 @@
+package com.api.testing.wiremock;
+
+import com.api.testing.models.Post;
+import com.api.testing.tests.TestUtils;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.matching.EqualToJsonPattern;
+import com.github.tomakehurst.wiremock.matching.MatchResult;
+import com.github.tomakehurst.wiremock.matching.StringValuePattern;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Request body pattern matching a JSON document through a precomputed canonical digest
+ * equalToJson parses and structurally compares both documents for every stub a request is
+ * tried against, and for every journal entry a verify walks. This pattern canonicalizes the
+ * expected document once, when it is created, into a 64-bit digest (object keys sorted,
+ * numbers by value so 1, 1.0 and 1e0 agree), and streams request bodies through the same
+ * digest without building a tree. Each thread caches the digest of the last body it saw,
+ * so the stubs one request is tried against share one pass over it; the cache is only
+ * weakly reachable, so an idle Jetty thread doesn't pin its last body. Equal digests are
+ * confirmed with a structural comparison, so a collision never produces a false match.
+ *
+ * Otherwise the semantics are equalToJson's defaults: array order and extra fields count.
+ * Mismatches report equalToJson's distance, computed only if WireMock asks for it (near-miss
+ * reports), so the request path never pays for it.
+ *
+ * WireMock's admin API can't deserialize custom patterns, so register and verify in-process
+ * through WireMockServer.stubFor/verify, not the static WireMock client.
+ *
+ * Usage: server.stubFor(post(urlEqualTo("/posts")).withRequestBody(equalToPostJson(post)))
+ */
+public class PostJsonDigestPattern extends StringValuePattern {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    // BigDecimal floats keep the structural check as exact as the digest
+    private static final ObjectMapper TREE_MAPPER = new ObjectMapper()
+            .enable(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+    private static final Comparator<JsonNode> NUMBERS_BY_VALUE = (expected, actual) ->
+            expected.isNumber() && actual.isNumber()
+                    ? expected.decimalValue().compareTo(actual.decimalValue())
+                    : expected.equals(actual) ? 0 : 1;
+    private static final ThreadLocal<WeakReference<LastBody>> LAST_BODY = new ThreadLocal<>();
+
+    private static final long TAG_OBJECT = 0x6f626a65L;
+    private static final long TAG_ARRAY = 0x61727261L;
+    private static final long TAG_STRING = 0x73747269L;
+    private static final long TAG_NUMBER = 0x6e756d62L;
+    private static final long TAG_TRUE = 0x74727565L;
+    private static final long TAG_FALSE = 0x66616c73L;
+    private static final long TAG_NULL = 0x6e756c6cL;
+
+    private final JsonNode expectedTree;
+    private final long expectedDigest;
+    private volatile EqualToJsonPattern distancePattern;
+
+    public PostJsonDigestPattern(@JsonProperty("equalToPostJson") String json) {
+        super(json);
+        try {
+            this.expectedTree = TREE_MAPPER.readTree(json);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Not a JSON document: " + json, e);
+        }
+        this.expectedDigest = digest(json);
+    }
+
+    public static PostJsonDigestPattern equalToPostJson(String json) {
+        return new PostJsonDigestPattern(json);
+    }
+
+    public static PostJsonDigestPattern equalToPostJson(Post post) {
+        try {
+            return new PostJsonDigestPattern(TestUtils.objectMapper().writeValueAsString(post));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Cannot serialize " + post, e);
+        }
+    }
+
+    public String getEqualToPostJson() {
+        return expectedValue;
+    }
+
+    @Override
+    public MatchResult match(String value) {
+        if (value == null) {
+            return MatchResult.noMatch();
+        }
+        LastBody body = lastBody();
+        if (!value.equals(body.value)) {
+            body.reset(value);
+        }
+        if (body.malformed || body.digest != expectedDigest) {
+            return mismatch(value);
+        }
+        JsonNode actualTree = body.tree();
+        if (actualTree == null || !expectedTree.equals(NUMBERS_BY_VALUE, actualTree)) {
+            return mismatch(value);
+        }
+        return MatchResult.exactMatch();
+    }
+
+    /**
+     * This thread's cache, recreated empty if it was collected since the last match
+     */
+    private static LastBody lastBody() {
+        WeakReference<LastBody> reference = LAST_BODY.get();
+        LastBody body = reference == null ? null : reference.get();
+        if (body == null) {
+            body = new LastBody();
+            LAST_BODY.set(new WeakReference<>(body));
+        }
+        return body;
+    }
+
+    private MatchResult mismatch(String value) {
+        return new MatchResult() {
+            @Override
+            public boolean isExactMatch() {
+                return false;
+            }
+
+            @Override
+            public double getDistance() {
+                EqualToJsonPattern pattern = distancePattern;
+                if (pattern == null) {
+                    pattern = new EqualToJsonPattern(expectedValue, false, false);
+                    distancePattern = pattern;
+                }
+                return pattern.match(value).getDistance();
+            }
+        };
+    }
+
+    /**
+     * Canonical 64-bit digest of a JSON document
+     * @throws UncheckedIOException if json is not a single well-formed JSON value
+     */
+    static long digest(String json) {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                throw new IOException("Empty document");
+            }
+            long digest = digest(parser, token);
+            if (parser.nextToken() != null) {
+                throw new IOException("Trailing content after the document");
+            }
+            return digest;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long digest(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case START_OBJECT:
+                return objectDigest(parser);
+            case START_ARRAY:
+                long array = TAG_ARRAY;
+                JsonToken element;
+                while ((element = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    array = combine(array, digest(parser, element));
+                }
+                return array;
+            case VALUE_STRING:
+                return stringDigest(TAG_STRING, parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            case VALUE_NUMBER_INT:
+                if (parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER) {
+                    long unscaled = parser.getLongValue();
+                    int exponent = 0;
+                    while (unscaled != 0 && unscaled % 10 == 0) {
+                        unscaled /= 10;
+                        exponent++;
+                    }
+                    return numberDigest(unscaled, exponent);
+                }
+                return decimalDigest(new BigDecimal(parser.getBigIntegerValue()));
+            case VALUE_NUMBER_FLOAT:
+                return decimalDigest(parser.getDecimalValue());
+            case VALUE_TRUE:
+                return mix(TAG_TRUE);
+            case VALUE_FALSE:
+                return mix(TAG_FALSE);
+            case VALUE_NULL:
+                return mix(TAG_NULL);
+            default:
+                throw new IOException("Unexpected token " + token + " at " + parser.getTokenLocation());
+        }
+    }
+
+    /**
+     * Fields are digested name and value, then combined in name order
+     * Post has four fields, so a sort of small parallel arrays beats building a map
+     */
+    private static long objectDigest(JsonParser parser) throws IOException {
+        String[] names = new String[4];
+        long[] values = new long[4];
+        int size = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if (size == names.length) {
+                names = Arrays.copyOf(names, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            String name = parser.getCurrentName();
+            long value = combine(nameDigest(name),
+                    digest(parser, parser.nextToken()));
+            // Insertion sort: already sorted or nearly so for serialized beans
+            int at = size++;
+            while (at > 0 && names[at - 1].compareTo(name) > 0) {
+                names[at] = names[at - 1];
+                values[at] = values[at - 1];
+                at--;
+            }
+            names[at] = name;
+            values[at] = value;
+        }
+        long object = TAG_OBJECT;
+        for (int i = 0; i < size; i++) {
+            object = combine(object, values[i]);
+        }
+        return object;
+    }
+
+    private static long decimalDigest(BigDecimal value) {
+        BigDecimal stripped = value.signum() == 0 ? BigDecimal.ZERO : value.stripTrailingZeros();
+        if (stripped.unscaledValue().bitLength() < 64) {
+            return numberDigest(stripped.unscaledValue().longValue(), -stripped.scale());
+        }
+        byte[] bytes = stripped.unscaledValue().toByteArray();
+        long digest = TAG_NUMBER;
+        for (byte b : bytes) {
+            digest = combine(digest, b);
+        }
+        return combine(digest, -stripped.scale());
+    }
+
+    private static long numberDigest(long unscaled, int exponent) {
+        return combine(combine(TAG_NUMBER, unscaled), exponent);
+    }
+
+    private static long stringDigest(long tag, char[] chars, int offset, int length) {
+        // FNV-1a over the UTF-16 units, finished with a full avalanche
+        long hash = 0xcbf29ce484222325L ^ tag;
+        for (int i = offset; i < offset + length; i++) {
+            hash ^= chars[i];
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash ^ length);
+    }
+
+    private static long nameDigest(String name) {
+        // Same digest as the string value; field names are canonicalized by the parser, no copy needed
+        long hash = 0xcbf29ce484222325L ^ TAG_STRING;
+        for (int i = 0; i < name.length(); i++) {
+            hash ^= name.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash ^ name.length());
+    }
+
+    private static long combine(long digest, long value) {
+        return mix(Long.rotateLeft(digest, 31) * 0x9e3779b97f4a7c15L ^ value);
+    }
+
+    // MurmurHash3 fmix64
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    /**
+     * Digest, and on demand the tree, of the last request body matched on this thread
+     */
+    private static final class LastBody {
+        private String value;
+        private long digest;
+        private boolean malformed;
+        private JsonNode tree;
+
+        void reset(String body) {
+            value = body;
+            tree = null;
+            try {
+                digest = PostJsonDigestPattern.digest(body);
+                malformed = false;
+            } catch (UncheckedIOException e) {
+                malformed = true;
+            }
+        }
+
+        JsonNode tree() {
+            if (tree == null) {
+                try {
+                    tree = TREE_MAPPER.readTree(value);
+                } catch (JsonProcessingException e) {
+                    return null;
+                }
+            }
+            return tree;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.api.testing.wiremock;
+
+import com.api.testing.config.ApiConfig;
+import com.api.testing.models.Post;
+import com.api.testing.tests.SharedWireMockExtension;
+import com.api.testing.tests.TestUtils;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.matching.EqualToJsonPattern;
+import com.github.tomakehurst.wiremock.matching.MatchResult;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.io.UncheckedIOException;
+import java.lang.ref.WeakReference;
+import java.util.List;
+
+import static com.api.testing.wiremock.PostJsonDigestPattern.equalToPostJson;
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static io.restassured.RestAssured.given;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * WireMock tests for the canonical-digest Post body matcher
+ */
+@ExtendWith(SharedWireMockExtension.class)
+public class PostJsonDigestPatternWireMockTest {
+
+    private WireMockServer wireMockServer;
+
+    @BeforeEach
+    void setUp(WireMockServer server) {
+        wireMockServer = server;
+        RestAssured.baseURI = "http://localhost:" + wireMockServer.port();
+    }
+
+    @AfterEach
+    void tearDown() {
+        RestAssured.reset();
+    }
+
+    @Test
+    void testEquivalentBodiesMatchAndOthersDoNot() {
+        // Arrange
+        Post newPost = new Post(null, "New Post Title", "New Post Body", 1);
+        wireMockServer.stubFor(post(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .withRequestBody(equalToPostJson(newPost))
+                .willReturn(aResponse().withStatus(ApiConfig.HTTP_CREATED)));
+
+        // Act & Assert - key order, whitespace and number spelling don't matter
+        given().contentType("application/json")
+                .body("{ \"userId\": 1.0, \"body\": \"New Post Body\", \"title\": \"New Post Title\", \"id\": null }")
+                .when().post(ApiConfig.POSTS_ENDPOINT)
+                .then().statusCode(ApiConfig.HTTP_CREATED);
+        given().contentType("application/json")
+                .body("{\"id\":null,\"title\":\"New Post Title\",\"body\":\"New Post Body\",\"userId\":1e0}")
+                .when().post(ApiConfig.POSTS_ENDPOINT)
+                .then().statusCode(ApiConfig.HTTP_CREATED);
+
+        // A different value, a missing or an extra field is no match
+        given().contentType("application/json")
+                .body("{\"id\":null,\"title\":\"Other Title\",\"body\":\"New Post Body\",\"userId\":1}")
+                .when().post(ApiConfig.POSTS_ENDPOINT)
+                .then().statusCode(ApiConfig.HTTP_NOT_FOUND);
+        given().contentType("application/json")
+                .body("{\"id\":null,\"title\":\"New Post Title\",\"body\":\"New Post Body\"}")
+                .when().post(ApiConfig.POSTS_ENDPOINT)
+                .then().statusCode(ApiConfig.HTTP_NOT_FOUND);
+        given().contentType("application/json")
+                .body("{\"id\":null,\"title\":\"New Post Title\",\"body\":\"New Post Body\",\"userId\":1,\"x\":0}")
+                .when().post(ApiConfig.POSTS_ENDPOINT)
+                .then().statusCode(ApiConfig.HTTP_NOT_FOUND);
+
+        wireMockServer.verify(2, postRequestedFor(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .withRequestBody(equalToPostJson(newPost)));
+    }
+
+    @Test
+    void testManyBodyMatchedStubsRouteToTheirOwnResponse() throws Exception {
+        // Arrange - one stub per post, all on the same URL
+        List<Post> posts = TestUtils.createPosts(200);
+        for (Post post : posts) {
+            wireMockServer.stubFor(put(urlEqualTo(ApiConfig.POSTS_ENDPOINT + "/1"))
+                    .withRequestBody(equalToPostJson(post))
+                    .willReturn(okJson(TestUtils.toJson(post))));
+        }
+
+        // Act & Assert
+        for (int id : new int[] {1, 77, 200}) {
+            Post response = given().contentType("application/json")
+                    .body(TestUtils.toJson(posts.get(id - 1)))
+                    .when().put(ApiConfig.POSTS_ENDPOINT + "/1")
+                    .then().statusCode(ApiConfig.HTTP_OK)
+                    .extract().as(Post.class);
+            assertEquals(posts.get(id - 1), response);
+        }
+        wireMockServer.verify(1, putRequestedFor(urlEqualTo(ApiConfig.POSTS_ENDPOINT + "/1"))
+                .withRequestBody(equalToPostJson(posts.get(76))));
+    }
+
+    @Test
+    void testDigestIsCanonical() {
+        // Arrange
+        long digest = PostJsonDigestPattern.digest("{\"a\":1,\"b\":[1,2],\"c\":{\"x\":\"y\",\"n\":100}}");
+
+        // Assert - key order at every level and number spelling are normalized
+        assertEquals(digest, PostJsonDigestPattern.digest("{\"c\":{\"n\":1e2,\"x\":\"y\"},\"b\":[1.0,2.00],\"a\":1}"));
+        assertNotEquals(digest, PostJsonDigestPattern.digest("{\"a\":1,\"b\":[2,1],\"c\":{\"x\":\"y\",\"n\":100}}"));
+        assertNotEquals(digest, PostJsonDigestPattern.digest("{\"a\":1,\"b\":[1,2],\"c\":{\"x\":\"y\",\"n\":10}}"));
+        assertNotEquals(digest, PostJsonDigestPattern.digest("{\"a\":\"1\",\"b\":[1,2],\"c\":{\"x\":\"y\",\"n\":100}}"));
+        assertNotEquals(PostJsonDigestPattern.digest("{\"ab\":\"c\"}"), PostJsonDigestPattern.digest("{\"a\":\"bc\"}"));
+        assertNotEquals(PostJsonDigestPattern.digest("[]"), PostJsonDigestPattern.digest("{}"));
+        assertNotEquals(PostJsonDigestPattern.digest("null"), PostJsonDigestPattern.digest("false"));
+        assertEquals(PostJsonDigestPattern.digest("123456789012345678901234567890"),
+                PostJsonDigestPattern.digest("1.23456789012345678901234567890e29"));
+        assertEquals(PostJsonDigestPattern.digest("0"), PostJsonDigestPattern.digest("-0.000"));
+        assertThrows(UncheckedIOException.class, () -> PostJsonDigestPattern.digest("{\"a\":"));
+        assertThrows(UncheckedIOException.class, () -> PostJsonDigestPattern.digest("{} {}"));
+    }
+
+    @Test
+    void testMismatchDistanceMatchesEqualToJson() throws Exception {
+        // Arrange
+        String expected = TestUtils.toJson(new Post(1, "Title", "Body", 1));
+        String actual = TestUtils.toJson(new Post(1, "Title", "Other body", 2));
+
+        // Act
+        MatchResult digestResult = equalToPostJson(expected).match(actual);
+
+        // Assert - near-miss reports rank candidates as they would with equalToJson
+        assertFalse(digestResult.isExactMatch());
+        assertEquals(new EqualToJsonPattern(expected, false, false).match(actual).getDistance(),
+                digestResult.getDistance());
+        assertFalse(equalToPostJson(expected).match("not json").isExactMatch());
+        assertTrue(equalToPostJson(expected).match(expected).isExactMatch());
+        assertThrows(IllegalArgumentException.class, () -> equalToPostJson("{broken"));
+    }
+
+    @Test
+    void testLastBodyCacheDoesNotPinTheBody() throws Exception {
+        // Arrange
+        PostJsonDigestPattern pattern = equalToPostJson(new Post(1, "Title", "Body", 1));
+        String body = new String(TestUtils.toJson(new Post(1, "Title", "Body", 1)));
+        WeakReference<String> cached = new WeakReference<>(body);
+
+        // Act
+        assertTrue(pattern.match(body).isExactMatch());
+        body = null;
+        for (int i = 0; i < 20 && cached.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        // Assert - once collected, the next match recomputes rather than failing
+        assertNull(cached.get(), "the per-thread cache should only hold the last body weakly");
+        assertTrue(pattern.match(TestUtils.toJson(new Post(1, "Title", "Body", 1))).isExactMatch());
+        assertFalse(pattern.match(TestUtils.toJson(new Post(2, "Title", "Body", 1))).isExactMatch());
+    }
+}
@@ -0,0 +1,177 @@
+package com.api.testing.wiremock;
+
+import com.api.testing.client.ApiException;
+import com.api.testing.client.AsyncPostsClient;
+import com.api.testing.config.ApiConfig;
+import com.api.testing.models.Post;
+import com.api.testing.tests.TestUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * WireMock tests for compressed transport of Post payloads
+ * Stubs serve pre-compressed bodies with an explicit Content-Encoding, so Jetty's own
+ * gzip handling is switched off to keep the bytes on the wire exactly as stubbed
+ */
+public class PostsCompressionWireMockTest {
+
+    private WireMockServer wireMockServer;
+    private ObjectMapper objectMapper;
+    private AsyncPostsClient client;
+    private List<Post> mockPosts;
+
+    @BeforeEach
+    void setUp() {
+        // Initialize WireMock server with dynamic port and no transparent gzip
+        wireMockServer = new WireMockServer(options().dynamicPort().gzipDisabled(true));
+        wireMockServer.start();
+
+        // Configure WireMock
+        WireMock.configureFor("localhost", wireMockServer.port());
+
+        // Initialize ObjectMapper for JSON processing
+        objectMapper = new ObjectMapper();
+
+        // Point the async client at WireMock
+        client = new AsyncPostsClient("http://localhost:" + wireMockServer.port());
+
+        mockPosts = TestUtils.createPosts(100);
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Stop WireMock server
+        wireMockServer.stop();
+    }
+
+    @Test
+    void testGetAllPosts_Gzip() throws Exception {
+        // Arrange
+        byte[] json = objectMapper.writeValueAsBytes(mockPosts);
+        stubEncoded("gzip", TestUtils.gzip(json));
+
+        // Act
+        List<Post> posts = client.getAllPosts().get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(mockPosts, posts);
+        verify(getRequestedFor(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .withHeader("Accept-Encoding", containing("gzip")));
+    }
+
+    @Test
+    void testGetAllPosts_Deflate() throws Exception {
+        // Arrange - zlib-wrapped deflate, as RFC 9110 specifies
+        byte[] json = objectMapper.writeValueAsBytes(mockPosts);
+        stubEncoded("deflate", TestUtils.deflate(json, false));
+
+        // Act
+        List<Post> posts = client.getAllPosts().get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(mockPosts, posts);
+        verify(getRequestedFor(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .withHeader("Accept-Encoding", containing("deflate")));
+    }
+
+    @Test
+    void testGetAllPosts_RawDeflate() throws Exception {
+        // Arrange - headerless deflate stream, as some servers send it
+        byte[] json = objectMapper.writeValueAsBytes(mockPosts);
+        stubEncoded("deflate", TestUtils.deflate(json, true));
+
+        // Act
+        List<Post> posts = client.getAllPosts().get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(mockPosts, posts);
+    }
+
+    @Test
+    void testGetAllPosts_RawDeflateWithMethod8FirstByte() throws Exception {
+        // Arrange - raw deflate whose first byte looks like a zlib header's (CM = 8)
+        byte[] json = objectMapper.writeValueAsBytes(mockPosts);
+        byte[] body = storedDeflate(json);
+        assertEquals(8, body[0] & 0x0F);
+        assertNotEquals(0, ((body[0] & 0xFF) << 8 | (body[1] & 0xFF)) % 31, "Must fail the zlib header check");
+        stubEncoded("deflate", body);
+
+        // Act
+        List<Post> posts = client.getAllPosts().get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(mockPosts, posts);
+    }
+
+    @Test
+    void testGetPostById_CompressionDisabled() throws Exception {
+        // Arrange
+        Post mockPost = new Post(ApiConfig.TEST_POST_ID, ApiConfig.TEST_POST_TITLE, ApiConfig.TEST_POST_BODY, ApiConfig.TEST_USER_ID);
+        stubFor(get(urlEqualTo(ApiConfig.POSTS_ENDPOINT + "/" + ApiConfig.TEST_POST_ID))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_OK)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(objectMapper.writeValueAsString(mockPost))));
+
+        // Act
+        Post post = client.withCompression(false).getPostById(ApiConfig.TEST_POST_ID).get(5, TimeUnit.SECONDS);
+
+        // Assert - identity body, and no encoding was advertised
+        assertEquals(mockPost, post);
+        verify(getRequestedFor(urlEqualTo(ApiConfig.POSTS_ENDPOINT + "/" + ApiConfig.TEST_POST_ID))
+                .withoutHeader("Accept-Encoding"));
+    }
+
+    @Test
+    void testGetAllPosts_UnsupportedEncoding() throws Exception {
+        // Arrange
+        stubEncoded("br", objectMapper.writeValueAsBytes(mockPosts));
+
+        // Act & Assert
+        ExecutionException thrown = assertThrows(ExecutionException.class,
+                () -> client.getAllPosts().get(5, TimeUnit.SECONDS));
+        ApiException cause = assertInstanceOf(ApiException.class, thrown.getCause());
+        assertTrue(cause.getCause().getMessage().contains("br"));
+    }
+
+    /**
+     * Raw deflate of data as one stored block followed by an empty final block
+     * The stored block header sets a padding bit, which RFC 1951 says decoders ignore,
+     * so the first byte is 0x08, like a zlib header's
+     */
+    private static byte[] storedDeflate(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(0x08);
+        out.write(data.length & 0xFF);
+        out.write(data.length >> 8 & 0xFF);
+        out.write(~data.length & 0xFF);
+        out.write(~data.length >> 8 & 0xFF);
+        out.write(data, 0, data.length);
+        // Final block, fixed Huffman codes, end-of-block only
+        out.write(0x03);
+        out.write(0x00);
+        return out.toByteArray();
+    }
+
+    private void stubEncoded(String contentEncoding, byte[] body) {
+        stubFor(get(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_OK)
+                        .withHeader("Content-Type", "application/json")
+                        .withHeader("Content-Encoding", contentEncoding)
+                        .withBody(body)));
+    }
+}
@@ -0,0 +1,276 @@
+package com.api.testing.wiremock;
+
+import com.api.testing.client.ApiException;
+import com.api.testing.client.AsyncPostsClient;
+import com.api.testing.config.ApiConfig;
+import com.api.testing.models.Post;
+import com.api.testing.tests.SharedWireMockExtension;
+import com.api.testing.tests.TestUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.matching.RequestPatternBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * WireMock tests for paginated streaming of /posts through AsyncPostsClient#streamPosts
+ */
+@ExtendWith(SharedWireMockExtension.class)
+public class PostsStreamingWireMockTest {
+
+    private static final int PAGE_SIZE = 25;
+    private static final int FULL_PAGES = 10;
+    private static final int LAST_PAGE_SIZE = 7;
+    private static final int TOTAL_POSTS = FULL_PAGES * PAGE_SIZE + LAST_PAGE_SIZE;
+
+    private WireMockServer wireMockServer;
+    private ObjectMapper objectMapper;
+    private AsyncPostsClient client;
+
+    @BeforeEach
+    void setUp(WireMockServer server) {
+        // Shared WireMock server, started on first use and reset before each test
+        wireMockServer = server;
+
+        // Configure WireMock
+        WireMock.configureFor("localhost", wireMockServer.port());
+
+        // Shared ObjectMapper for JSON processing
+        objectMapper = TestUtils.objectMapper();
+
+        // Point the async client at WireMock
+        client = new AsyncPostsClient("http://localhost:" + wireMockServer.port());
+    }
+
+    @Test
+    void testStreamPosts_AllPagesInOrder() throws Exception {
+        // Arrange - 10 full pages followed by a short one
+        stubPages();
+        RecordingSubscriber subscriber = new RecordingSubscriber(10);
+
+        // Act
+        client.streamPosts(PAGE_SIZE).subscribe(subscriber);
+
+        // Assert
+        assertTrue(subscriber.done.await(10, TimeUnit.SECONDS), "Stream should complete");
+        assertNull(subscriber.error);
+        assertTrue(subscriber.completed);
+        assertEquals(TOTAL_POSTS, subscriber.received.size());
+        for (int i = 0; i < TOTAL_POSTS; i++) {
+            assertEquals(i + 1, subscriber.received.get(i).getId());
+        }
+
+        // Every page is fetched exactly once and the walk stops after the short page
+        for (int page = 1; page <= FULL_PAGES + 1; page++) {
+            verify(1, pageRequest(page));
+        }
+        verify(0, pageRequest(FULL_PAGES + 2));
+    }
+
+    @Test
+    void testStreamPosts_BackpressureLimitsPrefetch() throws Exception {
+        // Arrange
+        stubPages();
+        RecordingSubscriber subscriber = new RecordingSubscriber(0);
+
+        // Act - subscribe without demand
+        client.streamPosts(PAGE_SIZE).subscribe(subscriber);
+        Thread.sleep(200);
+
+        // Assert - nothing is fetched before the first request
+        verify(0, getRequestedFor(urlPathEqualTo(ApiConfig.POSTS_ENDPOINT)));
+
+        // Act - a few posts from the first page
+        subscriber.subscription.request(5);
+        subscriber.awaitReceived(5);
+        Thread.sleep(200);
+
+        // Assert - current page plus one prefetched page, no further
+        assertEquals(5, subscriber.received.size());
+        verify(1, pageRequest(1));
+        verify(1, pageRequest(2));
+        verify(0, pageRequest(3));
+
+        subscriber.subscription.cancel();
+    }
+
+    @Test
+    void testStreamPosts_ExactMultipleEndsOnEmptyPage() throws Exception {
+        // Arrange - two full pages then an empty one
+        for (int page = 1; page <= 3; page++) {
+            stubPage(page, page <= 2 ? PAGE_SIZE : 0);
+        }
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+
+        // Act
+        client.streamPosts(PAGE_SIZE).subscribe(subscriber);
+
+        // Assert
+        assertTrue(subscriber.done.await(10, TimeUnit.SECONDS), "Stream should complete");
+        assertTrue(subscriber.completed);
+        assertEquals(2 * PAGE_SIZE, subscriber.received.size());
+        verify(1, pageRequest(3));
+    }
+
+    @Test
+    void testStreamPosts_PageErrorTerminatesStream() throws Exception {
+        // Arrange - page 3 fails on the provider
+        stubPages();
+        stubFor(get(urlPathEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .withQueryParam(ApiConfig.PAGE_PARAM, equalTo("3"))
+                .atPriority(1)
+                .willReturn(aResponse().withStatus(ApiConfig.HTTP_INTERNAL_SERVER_ERROR)));
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+
+        // Act
+        client.streamPosts(PAGE_SIZE).subscribe(subscriber);
+
+        // Assert - the first two pages arrive, then onError with the status
+        assertTrue(subscriber.done.await(10, TimeUnit.SECONDS), "Stream should terminate");
+        assertFalse(subscriber.completed);
+        assertEquals(2 * PAGE_SIZE, subscriber.received.size());
+        ApiException error = assertInstanceOf(ApiException.class, subscriber.error);
+        assertEquals(ApiConfig.HTTP_INTERNAL_SERVER_ERROR, error.getStatusCode());
+    }
+
+    @Test
+    void testStreamPosts_NonPositiveRequestSignalsErrorOnce() throws Exception {
+        // Arrange - a subscriber breaking §3.9 from inside onNext, while page 2 is prefetched
+        stubPages();
+        List<String> signals = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(1);
+        Flow.Subscriber<Post> subscriber = new Flow.Subscriber<Post>() {
+            private Flow.Subscription subscription;
+            private boolean inOnNext;
+
+            @Override
+            public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(2);
+            }
+
+            @Override
+            public void onNext(Post item) {
+                signals.add("next");
+                inOnNext = true;
+                subscription.request(0);
+                inOnNext = false;
+            }
+
+            @Override
+            public void onError(Throwable throwable) {
+                signals.add((inOnNext ? "nested " : "") + "error " + throwable.getClass().getSimpleName());
+                done.countDown();
+            }
+
+            @Override
+            public void onComplete() {
+                signals.add("complete");
+                done.countDown();
+            }
+        };
+
+        // Act
+        client.streamPosts(PAGE_SIZE).subscribe(subscriber);
+
+        // Assert - one error, after onNext returned, and nothing once the prefetch lands
+        assertTrue(done.await(10, TimeUnit.SECONDS), "Stream should terminate");
+        Thread.sleep(200);
+        assertEquals(List.of("next", "error IllegalArgumentException"), signals);
+    }
+
+    private void stubPages() throws Exception {
+        for (int page = 1; page <= FULL_PAGES; page++) {
+            stubPage(page, PAGE_SIZE);
+        }
+        stubPage(FULL_PAGES + 1, LAST_PAGE_SIZE);
+    }
+
+    private void stubPage(int page, int size) throws Exception {
+        List<Post> posts = new ArrayList<>();
+        int firstId = (page - 1) * PAGE_SIZE + 1;
+        for (int id = firstId; id < firstId + size; id++) {
+            posts.add(new Post(id, "Post " + id, "Body of post " + id, id % 10 + 1));
+        }
+
+        stubFor(get(urlPathEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .withQueryParam(ApiConfig.PAGE_PARAM, equalTo(String.valueOf(page)))
+                .withQueryParam(ApiConfig.LIMIT_PARAM, equalTo(String.valueOf(PAGE_SIZE)))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_OK)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(objectMapper.writeValueAsString(posts))));
+    }
+
+    private static RequestPatternBuilder pageRequest(int page) {
+        return getRequestedFor(urlPathEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .withQueryParam(ApiConfig.PAGE_PARAM, equalTo(String.valueOf(page)));
+    }
+
+    /**
+     * Subscriber recording every signal, requesting in fixed batches when batch > 0
+     */
+    private static class RecordingSubscriber implements Flow.Subscriber<Post> {
+
+        private final long batch;
+        private final List<Post> received = new CopyOnWriteArrayList<>();
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile Flow.Subscription subscription;
+        private volatile Throwable error;
+        private volatile boolean completed;
+        private long remainingInBatch;
+
+        RecordingSubscriber(long batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            if (batch > 0) {
+                remainingInBatch = batch;
+                subscription.request(batch);
+            }
+        }
+
+        @Override
+        public void onNext(Post item) {
+            received.add(item);
+            if (batch > 0 && batch != Long.MAX_VALUE && --remainingInBatch == 0) {
+                remainingInBatch = batch;
+                subscription.request(batch);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            done.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+            done.countDown();
+        }
+
+        void awaitReceived(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (received.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.api.testing.wiremock;
+
+import com.api.testing.client.ApiException;
+import com.api.testing.client.AsyncPostsClient;
+import com.api.testing.client.WireFormat;
+import com.api.testing.config.ApiConfig;
+import com.api.testing.models.Post;
+import com.api.testing.tests.SharedWireMockExtension;
+import com.api.testing.tests.TestUtils;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * WireMock tests for content negotiation of Post payloads in JSON, Smile and CBOR
+ */
+@ExtendWith(SharedWireMockExtension.class)
+public class PostsWireFormatWireMockTest {
+
+    private WireMockServer wireMockServer;
+    private AsyncPostsClient client;
+
+    @BeforeEach
+    void setUp(WireMockServer server) {
+        // Shared WireMock server, started on first use and reset before each test
+        wireMockServer = server;
+
+        // Configure WireMock
+        WireMock.configureFor("localhost", wireMockServer.port());
+
+        // Point the async client at WireMock
+        client = new AsyncPostsClient("http://localhost:" + wireMockServer.port());
+    }
+
+    @ParameterizedTest
+    @EnumSource(WireFormat.class)
+    void testGetAllPosts_Negotiated(WireFormat format) throws Exception {
+        // Arrange - one stub per representation
+        List<Post> mockPosts = TestUtils.createPosts(50);
+        NegotiatedStubs.stubNegotiated(wireMockServer,
+                () -> get(urlEqualTo(ApiConfig.POSTS_ENDPOINT)), ApiConfig.HTTP_OK, mockPosts);
+
+        // Act
+        List<Post> posts = client.withWireFormat(format).getAllPosts().get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(mockPosts, posts);
+        verify(getRequestedFor(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .withHeader("Accept", containing(format.mediaType())));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = WireFormat.class, names = {"SMILE", "CBOR"})
+    void testCreatePost_BinaryRequestBody(WireFormat format) throws Exception {
+        // Arrange - the stub only matches the exact binary encoding of the new post
+        Post newPost = new Post(null, "New Post Title", "New Post Body", 1);
+        Post createdPost = new Post(101, "New Post Title", "New Post Body", 1);
+        byte[] requestBody = format.mapper().writeValueAsBytes(newPost);
+
+        stubFor(post(urlEqualTo(ApiConfig.POSTS_ENDPOINT))
+                .withHeader("Content-Type", equalTo(format.mediaType()))
+                .withRequestBody(binaryEqualTo(requestBody))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_CREATED)
+                        .withHeader("Content-Type", format.mediaType())
+                        .withBody(format.mapper().writeValueAsBytes(createdPost))));
+
+        // Act
+        Post post = client.withWireFormat(format).createPost(newPost).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(createdPost, post);
+    }
+
+    @Test
+    void testGetPostById_JsonOnlyProviderFallback() throws Exception {
+        // Arrange - provider ignores Accept and always answers JSON
+        Post mockPost = new Post(ApiConfig.TEST_POST_ID, ApiConfig.TEST_POST_TITLE, ApiConfig.TEST_POST_BODY, ApiConfig.TEST_USER_ID);
+        stubFor(get(urlEqualTo(ApiConfig.POSTS_ENDPOINT + "/" + ApiConfig.TEST_POST_ID))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_OK)
+                        .withHeader("Content-Type", "application/json; charset=utf-8")
+                        .withBody(TestUtils.toJson(mockPost))));
+
+        // Act
+        Post post = client.withWireFormat(WireFormat.SMILE).getPostById(ApiConfig.TEST_POST_ID).get(5, TimeUnit.SECONDS);
+
+        // Assert
+        assertEquals(mockPost, post);
+    }
+
+    @Test
+    void testGetPostById_UnsupportedContentType() {
+        // Arrange
+        stubFor(get(urlEqualTo(ApiConfig.POSTS_ENDPOINT + "/" + ApiConfig.TEST_POST_ID))
+                .willReturn(aResponse()
+                        .withStatus(ApiConfig.HTTP_OK)
+                        .withHeader("Content-Type", "application/xml")
+                        .withBody("<post/>")));
+
+        // Act & Assert
+        ExecutionException thrown = assertThrows(ExecutionException.class,
+                () -> client.getPostById(ApiConfig.TEST_POST_ID).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(ApiException.class, thrown.getCause());
+    }
+}
@@ -3,6 +3,8 @@ package com.api.testing.wiremock;
 
 import com.api.testing.config.ApiConfig;
 import com.api.testing.models.Post;
+import com.api.testing.tests.SharedWireMockExtension;
+import com.api.testing.tests.TestUtils;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.tomakehurst.wiremock.WireMockServer;
 import com.github.tomakehurst.wiremock.client.WireMock;
@@ -11,6 +13,7 @@ import io.restassured.response.Response;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.*;
 import static io.restassured.RestAssured.given;
@@ -20,22 +23,22 @@ import static org.junit.jupiter.api.Assertions.*;
  * WireMock tests for JSONPlaceholder Posts API
  * These tests demonstrate how to mock external API responses for testing
  */
+@ExtendWith(SharedWireMockExtension.class)
 public class PostsWireMockTest {
     
     private WireMockServer wireMockServer;
     private ObjectMapper objectMapper;
     
     @BeforeEach
-    void setUp() {
-        // Initialize WireMock server with dynamic port
-        wireMockServer = new WireMockServer(0); // 0 means use any available port
-        wireMockServer.start();
+    void setUp(WireMockServer server) {
+        // Shared WireMock server, started on first use and reset before each test
+        wireMockServer = server;
         
         // Configure WireMock
         WireMock.configureFor("localhost", wireMockServer.port());
         
-        // Initialize ObjectMapper for JSON processing
-        objectMapper = new ObjectMapper();
+        // Shared ObjectMapper for JSON processing
+        objectMapper = TestUtils.objectMapper();
         
         // Set RestAssured base URI to WireMock
         RestAssured.baseURI = "http://localhost:" + wireMockServer.port();
@@ -43,9 +46,6 @@ public class PostsWireMockTest {
     
     @AfterEach
     void tearDown() {
-        // Stop WireMock server
-        wireMockServer.stop();
-        
         // Reset RestAssured
         RestAssured.reset();
     }